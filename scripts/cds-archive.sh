@@ -0,0 +1,45 @@
+#!/bin/sh
+# Builds a class-data-sharing (CDS) archive so later JVM starts map pre-parsed classes instead of
+# loading them from the fat jar. The training run boots the application context against the
+# configured database (applying any pending migrations) and exits as soon as it is refreshed.
+#
+#   mvn -Paot -DskipTests package
+#   scripts/cds-archive.sh --spring.profiles.active=prod
+#   target/cds/run.sh --spring.profiles.active=prod
+#
+# Rebuild the archive whenever the jar changes; a stale archive is ignored by the JVM with a warning.
+set -e
+
+JAR=$(ls target/ecommerce-dashboard-*.jar | grep -v '\.original$' | head -n 1)
+OUT=target/cds
+MAIN=com.example.ecommerce.EcommerceDashboardApplication
+
+rm -rf "$OUT"
+mkdir -p "$OUT/extracted"
+(cd "$OUT/extracted" && jar -xf "../../../$JAR")
+# CDS only archives classes loaded from jars, so the application classes are re-jarred
+jar -cf "$OUT/application.jar" -C "$OUT/extracted/BOOT-INF/classes" .
+mv "$OUT/extracted/BOOT-INF/lib" "$OUT/lib"
+rm -rf "$OUT/extracted"
+
+# The class path must be identical for the training run and every run using the archive
+CLASSPATH="application.jar"
+for lib in "$OUT"/lib/*.jar; do
+  CLASSPATH="$CLASSPATH:lib/$(basename "$lib")"
+done
+
+AOT=""
+if unzip -l "$OUT/application.jar" | grep -q '__BeanDefinitions.class'; then
+  AOT="-Dspring.aot.enabled=true"
+fi
+
+(cd "$OUT" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh $AOT \
+  -cp "$CLASSPATH" "$MAIN" "$@")
+
+cat > "$OUT/run.sh" <<RUN
+#!/bin/sh
+cd "\$(dirname "\$0")"
+exec java -XX:SharedArchiveFile=application.jsa $AOT \$JAVA_OPTS -cp "$CLASSPATH" $MAIN "\$@"
+RUN
+chmod +x "$OUT/run.sh"
+echo "CDS archive written to $OUT/application.jsa; start with $OUT/run.sh"
@@ -0,0 +1,206 @@
+// HTTP load test for the dashboard API. Run it once against the default configuration and once
+// with --spring.profiles.active=prod to compare pool/JDBC settings:
+//
+//   node scripts/loadtest.mjs --duration 60 --concurrency 32 --out target/load-default.json
+//   node scripts/loadtest.mjs --duration 60 --concurrency 32 --out target/load-prod.json
+//   node scripts/loadtest.mjs --compare target/load-default.json target/load-prod.json
+
+import { readFileSync, writeFileSync } from 'node:fs';
+
+const args = process.argv.slice(2);
+const option = (name, fallback) => {
+  const i = args.indexOf(`--${name}`);
+  return i >= 0 ? args[i + 1] : fallback;
+};
+
+const BASE_URL = option('url', process.env.BASE_URL || 'http://localhost:8080');
+const DURATION_MS = Number(option('duration', 30)) * 1000;
+const CONCURRENCY = Number(option('concurrency', 16));
+const IMPORT_ROWS = Number(option('import-rows', 50000));
+
+// Weighted mix roughly matching dashboard traffic: mostly reads, some order/product writes
+const SCENARIOS = [
+  { name: 'GET stats', weight: 20, run: (h) => get('/api/dashboard/stats', h) },
+  { name: 'GET top-cities', weight: 10, run: (h) => get('/api/dashboard/top-cities', h) },
+  { name: 'GET orders page', weight: 20, run: (h) => get('/api/orders/page?size=50', h) },
+  { name: 'GET products search', weight: 15, run: (h) => get(`/api/products/page?q=${pick(['Ph', 'La', 'Wa', 'Sh'])}`, h) },
+  { name: 'GET customers page', weight: 10, run: (h) => get('/api/customers/page', h) },
+  { name: 'POST order', weight: 15, run: (h) => send('POST', '/api/orders', h, randomOrder()) },
+  { name: 'PUT product', weight: 10, run: updateProduct },
+];
+
+const pick = (values) => values[Math.floor(Math.random() * values.length)];
+
+function randomOrder() {
+  return {
+    customer: `Load Test ${Math.floor(Math.random() * 1000)}`,
+    location: pick(['Mumbai', 'Delhi', 'Bengaluru', 'Chennai', 'Pune']),
+    amount: `₹ ${(100 + Math.floor(Math.random() * 50000)).toLocaleString('en-IN')}`,
+    status: pick(['Pending', 'Delivered', 'Shipped']),
+    date: new Date().toISOString().slice(0, 10),
+  };
+}
+
+async function get(path, headers) {
+  const res = await fetch(BASE_URL + path, { headers });
+  await res.arrayBuffer();
+  return res.status;
+}
+
+async function send(method, path, headers, body) {
+  const res = await fetch(BASE_URL + path, {
+    method,
+    headers: { ...headers, 'Content-Type': 'application/json' },
+    body: JSON.stringify(body),
+  });
+  await res.arrayBuffer();
+  return res.status;
+}
+
+let productIds = [];
+async function updateProduct(headers) {
+  const id = pick(productIds);
+  return send('PUT', `/api/products/${id}`, headers, {
+    name: `Load Product ${id}`, category: 'Electronics', price: `₹ ${1000 + (id % 500)}`,
+    stock: Math.floor(Math.random() * 100), status: 'In Stock',
+  });
+}
+
+async function login() {
+  const res = await fetch(`${BASE_URL}/api/auth/login`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify({ username: option('user', 'admin'), password: option('password', 'admin123') }),
+  });
+  if (!res.ok) throw new Error(`login failed: ${res.status}`);
+  return { Authorization: `Bearer ${await res.text()}` };
+}
+
+function percentile(sorted, p) {
+  if (sorted.length === 0) return 0;
+  return sorted[Math.min(sorted.length - 1, Math.floor((p / 100) * sorted.length))];
+}
+
+async function runMix(headers) {
+  const totalWeight = SCENARIOS.reduce((sum, s) => sum + s.weight, 0);
+  const stats = new Map(SCENARIOS.map((s) => [s.name, { latencies: [], errors: 0 }]));
+  const deadline = Date.now() + DURATION_MS;
+
+  const worker = async () => {
+    while (Date.now() < deadline) {
+      let roll = Math.random() * totalWeight;
+      const scenario = SCENARIOS.find((s) => (roll -= s.weight) < 0) || SCENARIOS[0];
+      const started = performance.now();
+      const entry = stats.get(scenario.name);
+      try {
+        const status = await scenario.run(headers);
+        if (status >= 400) entry.errors++;
+      } catch {
+        entry.errors++;
+      }
+      entry.latencies.push(performance.now() - started);
+    }
+  };
+  await Promise.all(Array.from({ length: CONCURRENCY }, worker));
+
+  const result = {};
+  let total = 0;
+  for (const [name, { latencies, errors }] of stats) {
+    latencies.sort((a, b) => a - b);
+    total += latencies.length;
+    result[name] = {
+      requests: latencies.length,
+      errors,
+      p50: percentile(latencies, 50),
+      p95: percentile(latencies, 95),
+      p99: percentile(latencies, 99),
+    };
+  }
+  return { throughput: total / (DURATION_MS / 1000), endpoints: result };
+}
+
+// Bulk import goes through JDBC batchUpdate, which is where rewriteBatchedStatements shows up
+async function runImport(headers) {
+  const lines = ['orderId,customer,location,amount,status,date'];
+  for (let i = 0; i < IMPORT_ROWS; i++) {
+    const order = randomOrder();
+    lines.push(`LT-${Date.now()}-${i},${order.customer},${order.location},"${order.amount}",${order.status},${order.date}`);
+  }
+  const started = performance.now();
+  const res = await fetch(`${BASE_URL}/api/imports/orders`, {
+    method: 'POST',
+    headers: { ...headers, 'Content-Type': 'text/csv' },
+    body: lines.join('\n'),
+  });
+  if (!res.ok) throw new Error(`import failed: ${res.status}`);
+  let job = await res.json();
+  while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+    await new Promise((resolve) => setTimeout(resolve, 250));
+    job = await (await fetch(`${BASE_URL}/api/imports/jobs/${job.id}`, { headers })).json();
+  }
+  const seconds = (performance.now() - started) / 1000;
+  return { rows: job.rowsImported, seconds, rowsPerSecond: job.rowsImported / seconds, status: job.status };
+}
+
+function print(label, report) {
+  console.log(`\n${label}: ${report.mix.throughput.toFixed(1)} req/s over ${DURATION_MS / 1000}s x ${report.concurrency}`);
+  console.table(Object.fromEntries(Object.entries(report.mix.endpoints).map(([name, e]) => [name, {
+    requests: e.requests, errors: e.errors, 'p50 ms': e.p50.toFixed(1), 'p95 ms': e.p95.toFixed(1), 'p99 ms': e.p99.toFixed(1),
+  }])));
+  if (report.import) {
+    console.log(`import: ${report.import.rows} rows in ${report.import.seconds.toFixed(1)}s `
+      + `(${report.import.rowsPerSecond.toFixed(0)} rows/s, ${report.import.status})`);
+  }
+}
+
+function compare(beforeFile, afterFile) {
+  const before = JSON.parse(readFileSync(beforeFile, 'utf8'));
+  const after = JSON.parse(readFileSync(afterFile, 'utf8'));
+  const change = (a, b) => `${(((b - a) / a) * 100).toFixed(1)}%`;
+  console.log(`throughput: ${before.mix.throughput.toFixed(1)} -> ${after.mix.throughput.toFixed(1)} req/s `
+    + `(${change(before.mix.throughput, after.mix.throughput)})`);
+  console.table(Object.fromEntries(Object.keys(before.mix.endpoints).map((name) => {
+    const a = before.mix.endpoints[name];
+    const b = after.mix.endpoints[name] || a;
+    return [name, { 'p95 before': a.p95.toFixed(1), 'p95 after': b.p95.toFixed(1), change: change(a.p95, b.p95) }];
+  })));
+  if (before.import && after.import) {
+    console.log(`import: ${before.import.rowsPerSecond.toFixed(0)} -> ${after.import.rowsPerSecond.toFixed(0)} rows/s `
+      + `(${change(before.import.rowsPerSecond, after.import.rowsPerSecond)})`);
+  }
+}
+
+async function main() {
+  if (args.includes('--compare')) {
+    const i = args.indexOf('--compare');
+    compare(args[i + 1], args[i + 2]);
+    return;
+  }
+  const headers = await login();
+  const products = await (await fetch(`${BASE_URL}/api/products`, { headers })).json();
+  productIds = products.map((p) => p.id);
+  // PUT product needs something to update on an empty catalog
+  for (let i = productIds.length; i < 20; i++) {
+    const res = await fetch(`${BASE_URL}/api/products`, {
+      method: 'POST',
+      headers: { ...headers, 'Content-Type': 'application/json' },
+      body: JSON.stringify({ name: `Load Product ${i}`, category: 'Electronics', price: '₹ 1,000', stock: 10, status: 'In Stock' }),
+    });
+    productIds.push((await res.json()).id);
+  }
+
+  const report = { url: BASE_URL, concurrency: CONCURRENCY, mix: await runMix(headers) };
+  if (IMPORT_ROWS > 0) {
+    report.import = await runImport(headers);
+  }
+  print('mixed workload', report);
+  const out = option('out');
+  if (out) {
+    writeFileSync(out, JSON.stringify(report, null, 2));
+  }
+}
+
+main().catch((e) => {
+  console.error(e.message);
+  process.exit(1);
+});
@@ -31,6 +31,14 @@ export const AuthProvider = ({ children }) => {
   };
 
   const logout = () => {
+    const current = localStorage.getItem('token');
+    if (current) {
+      // Revoke server-side so the cached session stops authenticating immediately
+      fetch('http://localhost:8080/api/auth/logout', {
+        method: 'POST',
+        headers: { 'Authorization': `Bearer ${current}` }
+      }).catch(() => {});
+    }
     localStorage.removeItem('token');
     setToken(null);
     setUser(null);
@@ -21,6 +21,20 @@ export const getDashboardStats = async () => {
   }
 };
 
+// Stats, recent orders and top cities in one request; sections that were too slow come back null
+export const getDashboardSummary = async () => {
+  try {
+    const response = await fetch(`${API_BASE_URL}/dashboard/summary`, {
+      headers: getAuthHeaders()
+    });
+    if (!response.ok) throw new Error('Failed to fetch dashboard summary');
+    return await response.json();
+  } catch (error) {
+    console.error(error);
+    return null;
+  }
+};
+
 export const getAnalyticsData = async () => {
   try {
     const response = await fetch(`${API_BASE_URL}/dashboard/analytics`, {
@@ -65,8 +79,32 @@ export const deleteOrder = async (id) => {
   if (!response.ok) throw new Error('Failed to delete order');
 };
 
-// Kept for backward compatibility if needed, but getOrders does the same
-export const getRecentOrders = getOrders;
+export const getRecentOrders = async (limit = 10) => {
+  try {
+    const response = await fetch(`${API_BASE_URL}/orders/recent?limit=${limit}`, {
+      headers: getAuthHeaders()
+    });
+    if (!response.ok) throw new Error('Failed to fetch recent orders');
+    return await response.json();
+  } catch (error) {
+    console.error(error);
+    return [];
+  }
+};
+
+export const getOrderPage = async (params = {}) => {
+  try {
+    const query = new URLSearchParams(Object.entries(params).filter(([, v]) => v !== undefined && v !== null && v !== ''));
+    const response = await fetch(`${API_BASE_URL}/orders/page?${query}`, {
+      headers: getAuthHeaders()
+    });
+    if (!response.ok) throw new Error('Failed to fetch orders');
+    return await response.json();
+  } catch (error) {
+    console.error(error);
+    return { items: [], nextCursor: null, hasMore: false };
+  }
+};
 
 export const getTopCities = async () => {
   try {
@@ -171,4 +209,80 @@ export const deleteCustomer = async (id) => {
     headers: getAuthHeaders()
   });
   if (!response.ok) throw new Error('Failed to delete customer');
-};
\ No newline at end of file
+};
+
+const fetchJson = async (path, fallback) => {
+  try {
+    const response = await fetch(`${API_BASE_URL}${path}`, {
+      headers: getAuthHeaders()
+    });
+    if (!response.ok) throw new Error(`Failed to fetch ${path}`);
+    return await response.json();
+  } catch (error) {
+    console.error(error);
+    return fallback;
+  }
+};
+
+export const searchProducts = (q = '', page = 0, size = 50) =>
+  fetchJson(`/products/page?q=${encodeURIComponent(q)}&page=${page}&size=${size}`, { content: [], totalElements: 0 });
+
+export const searchCustomers = (q = '', page = 0, size = 50) =>
+  fetchJson(`/customers/page?q=${encodeURIComponent(q)}&page=${page}&size=${size}`, { content: [], totalElements: 0 });
+
+export const productTypeahead = (q = '', limit = 10) =>
+  fetchJson(`/products/typeahead?q=${encodeURIComponent(q)}&limit=${limit}`, []);
+
+export const customerTypeahead = (q = '', limit = 10) =>
+  fetchJson(`/customers/typeahead?q=${encodeURIComponent(q)}&limit=${limit}`, []);
+
+// Returns a short-lived signed URL for the export. Opening it lets the browser stream the file to
+// disk (or a tab) itself rather than buffering the whole report in a Blob first.
+export const getReportDownloadUrl = async (type, format = 'pdf', storeName, inline = false) => {
+  const query = new URLSearchParams({ format, inline });
+  if (storeName) query.set('storeName', storeName);
+  const response = await fetch(`${API_BASE_URL}/reports/${type}/link?${query}`, {
+    method: 'POST',
+    headers: getAuthHeaders()
+  });
+  if (!response.ok) throw new Error('Failed to export report');
+  const { url } = await response.json();
+  return url;
+};
+
+// Live dashboard deltas over SSE. fetch (rather than EventSource) is used so the bearer token
+// can be sent as a header. Returns a function that closes the stream.
+export const subscribeDashboard = (onEvent) => {
+  const controller = new AbortController();
+  const run = async () => {
+    const response = await fetch(`${API_BASE_URL}/dashboard/stream`, {
+      headers: { ...getAuthHeaders(), 'Accept': 'text/event-stream' },
+      signal: controller.signal
+    });
+    if (!response.ok || !response.body) throw new Error('Failed to open dashboard stream');
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true });
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const block = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+        let name = 'message';
+        const data = [];
+        for (const line of block.split('\n')) {
+          if (line.startsWith('event:')) name = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5));
+        }
+        if (data.length) onEvent(name, JSON.parse(data.join('\n')));
+      }
+    }
+  };
+  run().catch((error) => {
+    if (error.name !== 'AbortError') console.error(error);
+  });
+  return () => controller.abort();
+};
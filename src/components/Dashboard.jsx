@@ -22,7 +22,7 @@ import ShoppingCartIcon from '@mui/icons-material/ShoppingCart';
 import PeopleIcon from '@mui/icons-material/People';
 import TrendingUpIcon from '@mui/icons-material/TrendingUp';
 import LocationOnIcon from '@mui/icons-material/LocationOn';
-import { getDashboardStats, getRecentOrders, getTopCities } from '../api';
+import { getDashboardStats, getDashboardSummary, getRecentOrders, getTopCities, subscribeDashboard } from '../api';
 import { motion } from 'framer-motion';
 
 const itemVariants = {
@@ -49,16 +49,38 @@ export default function Dashboard() {
     }
 
     const fetchData = async () => {
-      const stats = await getDashboardStats();
+      const summary = await getDashboardSummary();
+
+      // Any section the summary could not load in time is fetched on its own
+      const stats = summary?.stats ?? await getDashboardStats();
       if (stats) setStatsData(stats);
 
-      const orders = await getRecentOrders();
+      const orders = summary?.recentOrders ?? await getRecentOrders();
       if (orders) setRecentOrders(orders);
 
-      const cities = await getTopCities();
+      const cities = summary?.topCities ?? await getTopCities();
       if (cities) setTopCities(cities);
     };
     fetchData();
+
+    // Apply pushed deltas instead of refetching whole lists
+    const unsubscribe = subscribeDashboard((event, data) => {
+      if (event === 'kpi') {
+        setStatsData(data);
+      } else if (event === 'top-cities') {
+        setTopCities(data);
+      } else if (event === 'order') {
+        setRecentOrders((orders) => {
+          const rest = orders.filter((o) => o.id !== data.id);
+          if (data.action === 'deleted') return rest;
+          const { action, ...order } = data;
+          return action === 'created'
+            ? [order, ...rest].slice(0, 10)
+            : orders.map((o) => (o.id === order.id ? order : o));
+        });
+      }
+    });
+    return unsubscribe;
   }, []);
 
   // Helper to re-format currency strings if they come hardcoded from API
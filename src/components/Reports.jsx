@@ -10,8 +10,7 @@ import CardActions from '@mui/material/CardActions';
 import PictureAsPdfIcon from '@mui/icons-material/PictureAsPdf';
 import VisibilityIcon from '@mui/icons-material/Visibility';
 import { motion } from 'framer-motion';
-import { getProducts, getOrders, getCustomers } from '../api';
-import { generatePDF } from '../utils/reportUtils';
+import { getReportDownloadUrl } from '../api';
 import CircularProgress from '@mui/material/CircularProgress';
 
 export default function Reports() {
@@ -20,45 +19,19 @@ export default function Reports() {
     const handleGenerateReport = async (type, mode = 'download') => {
         setLoading(type);
         try {
-            let title = "";
-            let columns = [];
-            let data = [];
-            let filename = "";
+            // Rendered and streamed by the backend straight from the database
+            const settings = JSON.parse(localStorage.getItem('storeSettings')) || {};
+            const url = await getReportDownloadUrl(type, 'pdf', settings.storeName, mode === 'view');
 
-            if (type === 'products') {
-                const products = await getProducts();
-                title = "Product Inventory Report";
-                columns = ["ID", "Name", "Category", "Price (INR)", "Stock", "Status"];
-                data = products.map(p => [p.id, p.name, p.category, p.price, p.stock, p.status]);
-                filename = "products_report.pdf";
-            } else if (type === 'orders') {
-                const [orders, customers] = await Promise.all([getOrders(), getCustomers()]);
-                title = "Order Report";
-                columns = ["Order ID", "Customer", "Email", "Phone", "Location", "Amount", "Date", "Status"];
-                data = orders.map(o => {
-                    const customerDetails = customers.find(c => c.name === o.customer);
-                    return [
-                        o.id,
-                        o.customer,
-                        customerDetails ? customerDetails.email : 'N/A',
-                        customerDetails ? customerDetails.phone : 'N/A',
-                        o.location,
-                        o.amount ? o.amount.toString().replace('₹', 'Rs.') : '',
-                        o.date,
-                        o.status
-                    ];
-                });
-                filename = "orders_report.pdf";
-            } else if (type === 'customers') {
-                const customers = await getCustomers();
-                title = "Customer Report";
-                columns = ["ID", "Name", "Email", "Phone", "Location", "Orders", "Status"];
-                data = customers.map(c => [c.id, c.name, c.email, c.phone, c.location, c.orders, c.status]);
-                filename = "customers_report.pdf";
+            if (mode === 'view') {
+                window.open(url, '_blank');
+            } else {
+                const link = document.createElement('a');
+                link.href = url;
+                link.download = `${type}_report.pdf`;
+                link.click();
             }
 
-            generatePDF(title, columns, data, filename, mode);
-
         } catch (error) {
             console.error("Report generation failed:", error);
             alert("Failed to generate report.");
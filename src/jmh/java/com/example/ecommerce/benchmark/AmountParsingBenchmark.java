@@ -0,0 +1,63 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.util.MoneyCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a single display amount into a number and back into display text with
+ * MoneyCodec, which every order write, import row and dashboard response goes through.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AmountParsingBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final String[] amounts = new String[SAMPLES];
+    private final long[] minorUnits = new long[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            amounts[i] = OrderDataset.randomAmount(random);
+            minorUnits[i] = MoneyCodec.parseMinorUnits(amounts[i]);
+        }
+    }
+
+    private String nextAmount() {
+        return amounts[next++ & (SAMPLES - 1)];
+    }
+
+    @Benchmark
+    public long moneyCodecMinorUnits() {
+        return MoneyCodec.parseMinorUnits(nextAmount());
+    }
+
+    @Benchmark
+    public String moneyCodecCurrency() {
+        return MoneyCodec.currencyCode(nextAmount());
+    }
+
+    @Benchmark
+    public String moneyCodecFormat() {
+        return MoneyCodec.format(minorUnits[next++ & (SAMPLES - 1)], MoneyCodec.DEFAULT_CURRENCY);
+    }
+}
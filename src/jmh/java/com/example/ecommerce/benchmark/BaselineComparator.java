@@ -0,0 +1,194 @@
+package com.example.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against the committed baseline and exits non-zero when a
+ * benchmark got slower or allocates more per operation than the configured tolerances allow.
+ * Scores are compared as multiples of {@link CalibrationBenchmark} from the same run, so the
+ * baseline stays valid on a faster or slower machine than the one that recorded it; allocation
+ * per operation does not depend on the machine and is compared as is. Either only counts as a
+ * regression once it also exceeds the current run's own error margin, so a noisy run reports a
+ * wide interval instead of failing the build.
+ *
+ * <pre>
+ * java BaselineComparator target/jmh-result.json src/jmh/baseline.json
+ *     -Djmh.maxScoreRegression=0.25 -Djmh.maxAllocRegression=0.10
+ * java BaselineComparator --record target/jmh-result.json src/jmh/baseline.json
+ * </pre>
+ */
+public class BaselineComparator {
+
+    private static final String CALIBRATION = CalibrationBenchmark.class.getName() + ".mixLongs";
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+    // Absolute slack so a couple of bytes on a near-zero allocation rate does not fail the build
+    private static final double ALLOC_SLACK_BYTES = 16;
+
+    public static void main(String[] args) throws IOException {
+        boolean record = args.length == 3 && "--record".equals(args[0]);
+        if (args.length != 2 && !record) {
+            System.err.println("usage: BaselineComparator [--record] <results.json> <baseline.json>");
+            System.exit(2);
+        }
+        File resultFile = new File(args[record ? 1 : 0]);
+        File baselineFile = new File(args[record ? 2 : 1]);
+        Map<String, Measurement> current = measure(new ObjectMapper().readTree(resultFile));
+        if (record) {
+            write(current, baselineFile);
+            return;
+        }
+        double maxScoreRegression = Double.parseDouble(System.getProperty("jmh.maxScoreRegression", "0.25"));
+        double maxAllocRegression = Double.parseDouble(System.getProperty("jmh.maxAllocRegression", "0.10"));
+        Map<String, Measurement> baseline = read(baselineFile);
+
+        int regressions = 0;
+        for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+            Measurement base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("NEW   %s%n", entry.getKey());
+                continue;
+            }
+            Measurement run = entry.getValue();
+            double change = (run.relativeCost - base.relativeCost) / base.relativeCost;
+            boolean scoreRegressed = change > maxScoreRegression + run.relativeError;
+            boolean allocRegressed = base.allocBytes >= 0 && run.allocBytes >= 0 && run.allocBytes
+                    > base.allocBytes * (1 + maxAllocRegression) + ALLOC_SLACK_BYTES + run.allocError;
+
+            System.out.printf("%-5s %s  cost %.4g -> %.4g x calibration (%+.1f%%)  alloc %.1f -> %.1f B/op%n",
+                    scoreRegressed || allocRegressed ? "FAIL" : "OK", entry.getKey(), base.relativeCost,
+                    run.relativeCost, change * 100, base.allocBytes, run.allocBytes);
+            if (scoreRegressed || allocRegressed) {
+                regressions++;
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed beyond the baseline tolerance%n", regressions);
+            System.exit(1);
+        }
+    }
+
+    // Every benchmark's time per operation as a multiple of the calibration benchmark's in the same run
+    private static Map<String, Measurement> measure(JsonNode results) {
+        Double calibration = null;
+        double calibrationError = 0;
+        for (JsonNode result : results) {
+            if (CALIBRATION.equals(result.path("benchmark").asText())) {
+                calibration = nanosPerOp(result);
+                calibrationError = relativeError(result.path("primaryMetric"));
+            }
+        }
+        if (calibration == null) {
+            System.err.println("The results do not include " + CALIBRATION + "; run it together with the others");
+            System.exit(2);
+        }
+        Map<String, Measurement> measurements = new TreeMap<>();
+        for (JsonNode result : results) {
+            if (!CALIBRATION.equals(result.path("benchmark").asText())) {
+                JsonNode alloc = result.path("secondaryMetrics").path(ALLOC_METRIC);
+                measurements.put(key(result), new Measurement(nanosPerOp(result) / calibration,
+                        relativeError(result.path("primaryMetric")) + calibrationError,
+                        alloc.isMissingNode() ? -1 : alloc.path("score").asDouble(), errorOf(alloc)));
+            }
+        }
+        return measurements;
+    }
+
+    // Throughput scores are ops per time unit, every other mode reports time units per op
+    private static double nanosPerOp(JsonNode result) {
+        double score = result.path("primaryMetric").path("score").asDouble();
+        String[] unit = result.path("primaryMetric").path("scoreUnit").asText().split("/");
+        return "ops".equals(unit[0]) ? nanos(unit[1]) / score : score * nanos(unit[0]);
+    }
+
+    private static double relativeError(JsonNode metric) {
+        return errorOf(metric) / metric.path("score").asDouble();
+    }
+
+    // JMH reports NaN when there were too few iterations to estimate one
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static double nanos(String unit) {
+        switch (unit) {
+            case "ns":
+                return 1;
+            case "us":
+                return 1e3;
+            case "ms":
+                return 1e6;
+            case "s":
+                return 1e9;
+            case "min":
+                return 60e9;
+            default:
+                throw new IllegalArgumentException("Unknown JMH time unit " + unit);
+        }
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> param = fields.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+
+    private static Map<String, Measurement> read(File file) throws IOException {
+        Map<String, Measurement> baseline = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> entries = new ObjectMapper().readTree(file).fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            baseline.put(entry.getKey(), new Measurement(entry.getValue().path("relativeCost").asDouble(), 0,
+                    entry.getValue().path("allocBytesPerOp").asDouble(-1), 0));
+        }
+        return baseline;
+    }
+
+    private static void write(Map<String, Measurement> measurements, File file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode root = mapper.createObjectNode();
+        measurements.forEach((key, measurement) -> {
+            ObjectNode entry = root.putObject(key);
+            // Four significant digits are far finer than run-to-run noise
+            String relativeCost = String.format(Locale.ROOT, "%.4g", measurement.relativeCost);
+            entry.put("relativeCost", Double.parseDouble(relativeCost));
+            if (measurement.allocBytes >= 0) {
+                entry.put("allocBytesPerOp", Math.round(measurement.allocBytes * 10) / 10.0);
+            }
+        });
+        mapper.writeValue(file, root);
+        System.out.printf("Recorded %d benchmark(s) in %s%n", measurements.size(), file);
+    }
+
+    private static final class Measurement {
+        final double relativeCost;
+        final double relativeError;
+        final double allocBytes;
+        final double allocError;
+
+        Measurement(double relativeCost, double relativeError, double allocBytes, double allocError) {
+            this.relativeCost = relativeCost;
+            this.relativeError = relativeError;
+            this.allocBytes = allocBytes;
+            this.allocError = allocError;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed workload that never changes with the application. BaselineComparator divides every
+ * other score by this one from the same run, so the baseline holds costs relative to the machine
+ * the run happened on rather than absolute times from the machine that recorded it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalibrationBenchmark {
+
+    private final long[] values = new long[4096];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+    }
+
+    // Dependent multiply-rotate chain plus a data-dependent array read: scalar and memory work,
+    // roughly the mix the application benchmarks spend their time on
+    @Benchmark
+    public long mixLongs() {
+        long hash = 0;
+        for (int i = 0; i < values.length; i++) {
+            hash ^= values[(int) (hash >>> 52) ^ (i & (values.length - 1))];
+            hash = Long.rotateLeft(hash * 0x9E3779B97F4A7C15L, 31);
+        }
+        return hash;
+    }
+}
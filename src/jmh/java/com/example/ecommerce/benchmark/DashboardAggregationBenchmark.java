@@ -0,0 +1,147 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.entity.CityOrderCount;
+import com.example.ecommerce.entity.DashboardStats;
+import com.example.ecommerce.entity.OrderTotals;
+import com.example.ecommerce.entity.TopCity;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderAggregateRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.service.DashboardService;
+import com.example.ecommerce.service.OrderAggregateService;
+import com.example.ecommerce.util.MoneyCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * DashboardService.getStats and getTopCities as the production service runs them, uncached, with
+ * the repositories stubbed to answer from the dataset the way the database does: the aggregate
+ * stripes already summed and the per-city GROUP BY already counted and ordered. Neither path
+ * grows with the number of orders any more; parseEveryAmount is the per-row cost that a recount
+ * or backfill pays instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class DashboardAggregationBenchmark {
+
+    private static final long CUSTOMERS = 5_000;
+
+    private DashboardService dashboardService;
+
+    @Setup
+    public void setUp(OrderDataset data) {
+        long revenue = 0;
+        Map<String, Long> cityCounts = new TreeMap<>();
+        for (int i = 0; i < data.orders; i++) {
+            revenue += MoneyCodec.parseMinorUnits(data.amounts[i]);
+            cityCounts.merge(data.locations[i], 1L, Long::sum);
+        }
+        OrderTotals totals = totals(data.orders, revenue);
+        List<CityOrderCount> topLocations = new ArrayList<>();
+        cityCounts.forEach((city, count) -> topLocations.add(cityCount(city, count)));
+        // The query's ORDER BY: most orders first, ties by name (the TreeMap already sorted by name)
+        topLocations.sort(Comparator.comparingLong(CityOrderCount::getOrders).reversed());
+
+        OrderAggregateService aggregateService = new OrderAggregateService();
+        ReflectionTestUtils.setField(aggregateService, "aggregateRepository",
+                stub(OrderAggregateRepository.class, "sumStripes", args -> totals));
+
+        dashboardService = new DashboardService(1, 1);
+        ReflectionTestUtils.setField(dashboardService, "orderAggregateService", aggregateService);
+        ReflectionTestUtils.setField(dashboardService, "customerRepository",
+                stub(CustomerRepository.class, "count", args -> CUSTOMERS));
+        ReflectionTestUtils.setField(dashboardService, "orderRepository",
+                stub(OrderRepository.class, "findTopLocations", args -> topLocations.subList(0,
+                        Math.min(((Pageable) args[0]).getPageSize(), topLocations.size()))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Benchmark
+    public DashboardStats stats() {
+        return dashboardService.getStats();
+    }
+
+    @Benchmark
+    public List<TopCity> topCities() {
+        return dashboardService.getTopCities(5);
+    }
+
+    @Benchmark
+    public long parseEveryAmount(OrderDataset data) {
+        long revenueMinor = 0;
+        for (String amount : data.amounts) {
+            revenueMinor += MoneyCodec.parseMinorUnits(amount);
+        }
+        return revenueMinor;
+    }
+
+    // Answers the one repository method a benchmark path calls; any other call is a setup mistake
+    private static <T> T stub(Class<T> type, String method, Function<Object[], Object> answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, invoked, args) -> {
+                    if (invoked.getName().equals(method)) {
+                        return answer.apply(args);
+                    }
+                    if (invoked.getName().equals("toString")) {
+                        return type.getSimpleName() + " stub";
+                    }
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + invoked.getName());
+                }));
+    }
+
+    private static OrderTotals totals(long orderCount, long revenueMinor) {
+        return new OrderTotals() {
+            @Override
+            public long getOrderCount() {
+                return orderCount;
+            }
+
+            @Override
+            public long getRevenueMinor() {
+                return revenueMinor;
+            }
+        };
+    }
+
+    private static CityOrderCount cityCount(String location, long orders) {
+        return new CityOrderCount() {
+            @Override
+            public String getLocation() {
+                return location;
+            }
+
+            @Override
+            public long getOrders() {
+                return orders;
+            }
+        };
+    }
+}
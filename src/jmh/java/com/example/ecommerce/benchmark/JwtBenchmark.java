@@ -0,0 +1,90 @@
+package com.example.ecommerce.benchmark;
+
+import com.example.ecommerce.config.JwtAuthFilter;
+import com.example.ecommerce.config.TokenAuthenticationCache;
+import com.example.ecommerce.service.JwtService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation in JwtService, and a request carrying an already verified token
+ * going through JwtAuthFilter, which serves it from the token cache without a signature check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private JwtAuthFilter authFilter;
+    private UserDetails user;
+    private String token;
+    private MockHttpServletRequest request;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        TokenAuthenticationCache tokenCache = new TokenAuthenticationCache(10_000, 300);
+        user = User.withUsername("admin").password("n/a").authorities("ROLE_ADMIN").build();
+        token = jwtService.generateToken(user.getUsername());
+        tokenCache.put(token, user, jwtService.extractExpiration(token).getTime());
+
+        // No user details service: a cache miss would fail the benchmark instead of hitting a database
+        authFilter = new JwtAuthFilter();
+        ReflectionTestUtils.setField(authFilter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(authFilter, "tokenCache", tokenCache);
+        request = new MockHttpServletRequest("GET", "/api/dashboard/stats");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user.getUsername());
+    }
+
+    @Benchmark
+    public Claims parseValidClaims() {
+        return jwtService.parseValidClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, user);
+    }
+
+    @Benchmark
+    public Authentication filterCachedToken() throws ServletException, IOException {
+        try {
+            authFilter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic order columns shaped like the seed data: display amounts in the formats the UI
+ * writes and a skewed spread of cities. Values are drawn from fixed pools so even the 10M row
+ * dataset stays a few hundred MB while every row still goes through the full parse.
+ */
+@State(Scope.Benchmark)
+public class OrderDataset {
+
+    static final String[] CITIES = {
+            "Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Kolkata", "Pune", "Ahmedabad",
+            "Jaipur", "Surat", "Lucknow", "Kanpur", "Nagpur", "Indore", "Thane", "Bhopal",
+            "Visakhapatnam", "Patna", "Vadodara", "Ghaziabad", "Ludhiana", "Agra", "Nashik", "Kochi"
+    };
+
+    private static final int AMOUNT_POOL = 4096;
+
+    @Param({ "10000", "1000000", "10000000" })
+    public int orders;
+
+    public String[] amounts;
+    public String[] locations;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] amountPool = new String[AMOUNT_POOL];
+        for (int i = 0; i < AMOUNT_POOL; i++) {
+            amountPool[i] = randomAmount(random);
+        }
+        amounts = new String[orders];
+        locations = new String[orders];
+        for (int i = 0; i < orders; i++) {
+            amounts[i] = amountPool[random.nextInt(AMOUNT_POOL)];
+            // Squaring the draw skews orders towards the first few cities, like real traffic
+            double skew = random.nextDouble();
+            locations[i] = CITIES[(int) (skew * skew * CITIES.length)];
+        }
+    }
+
+    static String randomAmount(SplittableRandom random) {
+        long rupees = 50 + random.nextLong(250_000);
+        int paise = random.nextInt(100);
+        switch (random.nextInt(4)) {
+            case 0:
+                return "₹ " + groupIndian(rupees);
+            case 1:
+                return String.format("₹ %s.%02d", groupIndian(rupees), paise);
+            case 2:
+                return String.format("$ %,d.%02d", rupees / 80, paise);
+            default:
+                return "₹" + rupees;
+        }
+    }
+
+    private static String groupIndian(long value) {
+        String digits = Long.toString(value);
+        if (digits.length() <= 3) {
+            return digits;
+        }
+        StringBuilder out = new StringBuilder();
+        int head = digits.length() - 3;
+        for (int i = 0; i < head; i++) {
+            out.append(digits.charAt(i));
+            if ((head - i) % 2 == 1 && i < head - 1) {
+                out.append(',');
+            }
+        }
+        return out.append(',').append(digits, head, digits.length()).toString();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.ecommerce.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records method, path, status, latency and byte counts for every request into the
+ * {@link AccessLogWriter} ring buffer. Request bodies are captured only for a sampled fraction of
+ * requests, capped in size, and never for {@code /api/auth/**} where they carry credentials. The token query string of
+ * report download links is redacted too.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final String REDACTED = "[REDACTED]";
+    // Same scope as the permitAll("/api/auth/**") rule in SecurityConfig
+    private static final String AUTH_PATH = "/api/auth/";
+    // Its query string is the download link's token
+    private static final String DOWNLOAD_PATH = "/api/reports/download";
+
+    private final AccessLogWriter writer;
+    private final double payloadSampleRate;
+    private final int payloadMaxBytes;
+
+    public AccessLogFilter(AccessLogWriter writer, double payloadSampleRate, int payloadMaxBytes) {
+        this.writer = writer;
+        this.payloadSampleRate = payloadSampleRate;
+        this.payloadMaxBytes = payloadMaxBytes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        boolean redacted = request.getRequestURI().startsWith(AUTH_PATH);
+        HttpServletRequest loggedRequest = request;
+        if (!redacted && payloadSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < payloadSampleRate) {
+            // Only copies what the controller actually reads, up to the cap
+            loggedRequest = new ContentCachingRequestWrapper(request, payloadMaxBytes);
+        }
+        CountingResponse countingResponse = new CountingResponse(response);
+        try {
+            filterChain.doFilter(loggedRequest, countingResponse);
+        } finally {
+            HttpServletRequest finalRequest = loggedRequest;
+            if (request.isAsyncStarted()) {
+                // Streams and SSE finish later on another thread; log when they actually complete
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(finalRequest, countingResponse, startMillis, startNanos, redacted);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(loggedRequest, countingResponse, startMillis, startNanos, redacted);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response, long startMillis, long startNanos,
+            boolean redacted) {
+        String payload = null;
+        if (redacted) {
+            payload = request.getContentLengthLong() > 0 ? REDACTED : null;
+        } else if (request instanceof ContentCachingRequestWrapper) {
+            byte[] body = ((ContentCachingRequestWrapper) request).getContentAsByteArray();
+            if (body.length > 0) {
+                payload = new String(body, charset(request));
+            }
+        }
+        String query = request.getRequestURI().equals(DOWNLOAD_PATH) && request.getQueryString() != null
+                ? REDACTED : request.getQueryString();
+        writer.record(new AccessLogWriter.Entry(startMillis, request.getMethod(), request.getRequestURI(),
+                query, response.getStatus(), System.nanoTime() - startNanos,
+                Math.max(0, request.getContentLengthLong()), response.bytesOut(), payload));
+    }
+
+    private static Charset charset(HttpServletRequest request) {
+        String encoding = request.getCharacterEncoding();
+        return encoding != null && Charset.isSupported(encoding) ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Counts response bytes as they pass through, without buffering them. Writer-based responses
+     * (container error pages) are left alone and fall back to their Content-Length.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private volatile long bytesWritten;
+        private ServletOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytesWritten++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytesWritten += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        long bytesOut() {
+            if (bytesWritten > 0) {
+                return bytesWritten;
+            }
+            String contentLength = getHeader("Content-Length");
+            return contentLength != null ? Long.parseLong(contentLength) : 0;
+        }
+    }
+}
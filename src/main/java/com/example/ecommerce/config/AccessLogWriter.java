@@ -0,0 +1,125 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.util.RingBuffer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Owns the access-log ring buffer and the single background thread that turns entries into
+ * JSON log lines, so request threads only pay for one CAS per request. Entries that arrive while
+ * the buffer is full are counted and dropped rather than slowing the request down.
+ */
+public class AccessLogWriter {
+
+    private static final Logger access = LoggerFactory.getLogger("access");
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private static final int DRAIN_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /** One finished request; immutable once handed to {@link #record}. */
+    public static final class Entry {
+        final long timestampMillis;
+        final String method;
+        final String path;
+        final String query;
+        final int status;
+        final long durationNanos;
+        final long bytesIn;
+        final long bytesOut;
+        final String payload;
+
+        public Entry(long timestampMillis, String method, String path, String query, int status,
+                long durationNanos, long bytesIn, long bytesOut, String payload) {
+            this.timestampMillis = timestampMillis;
+            this.method = method;
+            this.path = path;
+            this.query = query;
+            this.status = status;
+            this.durationNanos = durationNanos;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.payload = payload;
+        }
+    }
+
+    private final RingBuffer<Entry> buffer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(int bufferSize) {
+        buffer = new RingBuffer<>(bufferSize);
+        writer = new Thread(this::run, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void record(Entry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void run() {
+        long reportedDrops = 0;
+        while (running) {
+            int drained = buffer.drain(this::write, DRAIN_BATCH);
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                log.warn("Access log buffer full; {} entries dropped so far", drops);
+                reportedDrops = drops;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+            // flush whatever was recorded before shutdown
+        }
+    }
+
+    private void write(Entry entry) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("ts", Instant.ofEpochMilli(entry.timestampMillis).toString());
+        line.put("method", entry.method);
+        line.put("path", entry.path);
+        if (entry.query != null) {
+            line.put("query", entry.query);
+        }
+        line.put("status", entry.status);
+        line.put("durationMs", entry.durationNanos / 1_000_000.0);
+        line.put("bytesIn", entry.bytesIn);
+        line.put("bytesOut", entry.bytesOut);
+        if (entry.payload != null) {
+            line.put("payload", entry.payload);
+        }
+        try {
+            access.info(objectMapper.writeValueAsString(line));
+        } catch (JsonProcessingException e) {
+            log.debug("Could not serialize access log entry", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ecommerce.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the Hikari pool from the machine rather than a fixed default: a few connections per
+ * core keeps MySQL busy without queueing more concurrent statements than it can run.
+ */
+@Configuration
+@Profile("prod")
+public class DataSourceTuningConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceTuningConfig.class);
+
+    // Static so the post-processor is registered without instantiating this configuration early
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        int fixedSize = environment.getProperty("dashboard.datasource.pool-size", Integer.class, 0);
+        int perCore = environment.getProperty("dashboard.datasource.connections-per-core", Integer.class, 2);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    int size = fixedSize > 0 ? fixedSize : Runtime.getRuntime().availableProcessors() * perCore + 1;
+                    // A fixed-size pool avoids connection churn under bursty load
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                    log.info("Connection pool {} sized to {} connections", dataSource.getPoolName(), size);
+                }
+                return bean;
+            }
+        };
+    }
+}
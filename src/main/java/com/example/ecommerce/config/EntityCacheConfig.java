@@ -0,0 +1,63 @@
+package com.example.ecommerce.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap-bounded Caffeine regions behind Hibernate's second-level and query caches. Every region
+ * is created here up front and Hibernate is told to fail on unknown ones, so no region can end
+ * up unbounded by accident.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String PRODUCT_REGION = "product";
+    public static final String CUSTOMER_REGION = "customer";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${dashboard.entity-cache.product.max-size:10000}") long productMaxSize,
+            @Value("${dashboard.entity-cache.customer.max-size:10000}") long customerMaxSize,
+            @Value("${dashboard.entity-cache.query.max-size:1000}") long queryMaxSize,
+            @Value("${dashboard.entity-cache.ttl-seconds:600}") long ttlSeconds) {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("entity-cache"), getClass().getClassLoader());
+        cacheManager.createCache(PRODUCT_REGION, region(productMaxSize, ttlSeconds));
+        cacheManager.createCache(CUSTOMER_REGION, region(customerMaxSize, ttlSeconds));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queryMaxSize, ttlSeconds));
+        // One entry per table; it must never be evicted ahead of the query results it validates
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(-1, -1));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    // The TTL only bounds staleness from writes that bypass Hibernate and are not evicted explicitly
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ecommerce.config;
+
+import org.hibernate.CallbackException;
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Hibernate hooks feeding the current {@link RequestProfile}: every SQL string Hibernate
+ * prepares and every entity it loads. Statement execution time comes from {@link SqlTimingListener}.
+ */
+public class HibernateProfiling implements Interceptor, StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.statementPrepared(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types)
+            throws CallbackException {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.entityLoaded();
+        }
+        return false;
+    }
+}
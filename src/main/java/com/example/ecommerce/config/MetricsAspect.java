@@ -0,0 +1,101 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Times repository methods (with the number of rows they returned) for the order, product and
+ * customer repositories, and adds outermost service-call time to the current request profile.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Around("this(com.example.ecommerce.repository.OrderRepository) "
+            + "|| this(com.example.ecommerce.repository.ProductRepository) "
+            + "|| this(com.example.ecommerce.repository.CustomerRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getThis());
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "SUCCESS";
+        try {
+            Object result = joinPoint.proceed();
+            long rows = rowCount(result);
+            if (rows >= 0) {
+                DistributionSummary.builder("dashboard.repository.rows")
+                        .description("Rows returned per repository call")
+                        .tags("repository", repository, "method", method)
+                        .register(registry).record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("dashboard.repository.invocations")
+                    .description("Repository call latency")
+                    .tags("repository", repository, "method", method, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    @Around("within(com.example.ecommerce.service..*) && @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return joinPoint.proceed();
+        }
+        boolean outermost = profile.enterService();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            profile.exitService(outermost, System.nanoTime() - start);
+        }
+    }
+
+    private static String repositoryName(Object proxy) {
+        if (proxy instanceof OrderRepository) {
+            return "OrderRepository";
+        }
+        if (proxy instanceof ProductRepository) {
+            return "ProductRepository";
+        }
+        return proxy instanceof CustomerRepository ? "CustomerRepository" : "other";
+    }
+
+    // -1 for results that are not rows (counts, void, update results)
+    private static long rowCount(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result == null || result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ecommerce.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires per-request profiling: the filter that owns the profile, the MVC interceptor timing the
+ * handler, and the Hibernate hooks counting statements, SQL time and entity loads.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private static final String HANDLER_START = MetricsConfig.class.getName() + ".handlerStart";
+
+    @Bean
+    public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilter(MeterRegistry registry,
+            @Value("${dashboard.metrics.slow-request-ms:500}") long slowRequestMillis,
+            @Value("${dashboard.metrics.repeated-statement-threshold:20}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<RequestProfilingFilter> registration = new FilterRegistrationBean<>(
+                new RequestProfilingFilter(registry, slowRequestMillis, repeatedStatementThreshold));
+        // Just inside the access log, ahead of security, so "filters" includes authentication
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer profilingCustomizer() {
+        HibernateProfiling profiling = new HibernateProfiling();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, profiling);
+            properties.put(AvailableSettings.INTERCEPTOR, profiling);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                request.setAttribute(HANDLER_START, System.nanoTime());
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                    Exception ex) {
+                RequestProfile profile = RequestProfile.current();
+                Object start = request.getAttribute(HANDLER_START);
+                if (profile != null && start != null) {
+                    profile.handlerNanos += System.nanoTime() - (Long) start;
+                }
+            }
+        });
+    }
+}
@@ -1,20 +1,30 @@
 package com.example.ecommerce.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
+import org.springframework.core.Ordered;
 
+// Disabled means nothing is registered at all, so there is no per-request cost
 @Configuration
+@ConditionalOnProperty(name = "dashboard.access-log.enabled", havingValue = "true", matchIfMissing = true)
 public class RequestLoggingConfig {
 
     @Bean
-    public CommonsRequestLoggingFilter logFilter() {
-        CommonsRequestLoggingFilter filter = new CommonsRequestLoggingFilter();
-        filter.setIncludeQueryString(true);
-        filter.setIncludePayload(true);
-        filter.setMaxPayloadLength(10000);
-        filter.setIncludeHeaders(false);
-        filter.setAfterMessagePrefix("REQUEST DATA: ");
-        return filter;
+    public AccessLogWriter accessLogWriter(@Value("${dashboard.access-log.buffer-size:8192}") int bufferSize) {
+        return new AccessLogWriter(bufferSize);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogWriter accessLogWriter,
+            @Value("${dashboard.access-log.payload-sample-rate:0.01}") double payloadSampleRate,
+            @Value("${dashboard.access-log.payload-max-bytes:2048}") int payloadMaxBytes) {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(
+                new AccessLogFilter(accessLogWriter, payloadSampleRate, payloadMaxBytes));
+        // Ahead of the security chain so latency covers authentication too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
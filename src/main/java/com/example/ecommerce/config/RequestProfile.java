@@ -0,0 +1,82 @@
+package com.example.ecommerce.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where the time of the current request went: handler, service and SQL time, statement and
+ * entity-load counts, and how often each distinct SQL string ran (for N+1 detection). Bound to
+ * the request thread by {@link RequestProfilingFilter}; every hook is a no-op outside a request.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    final long startNanos = System.nanoTime();
+    long handlerNanos;
+    long serviceNanos;
+    long sqlNanos;
+    int statements;
+    long entitiesLoaded;
+    final Map<String, Integer> statementCounts = new HashMap<>();
+
+    private int serviceDepth;
+    private long sqlStartNanos;
+
+    static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    /** Returns true for the outermost service call, the only one whose time is counted. */
+    boolean enterService() {
+        return serviceDepth++ == 0;
+    }
+
+    void exitService(boolean outermost, long nanos) {
+        serviceDepth--;
+        if (outermost) {
+            serviceNanos += nanos;
+        }
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void sqlStarted() {
+        sqlStartNanos = System.nanoTime();
+    }
+
+    void sqlFinished() {
+        if (sqlStartNanos != 0) {
+            sqlNanos += System.nanoTime() - sqlStartNanos;
+            sqlStartNanos = 0;
+        }
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    /** The statement run most often in this request, or null if nothing ran. */
+    Map.Entry<String, Integer> mostRepeatedStatement() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : statementCounts.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+}
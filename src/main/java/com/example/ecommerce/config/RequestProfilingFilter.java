@@ -0,0 +1,90 @@
+package com.example.ecommerce.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a {@link RequestProfile} to each request, publishes its SQL and entity-load figures per
+ * endpoint, and logs a breakdown for requests that are slow or repeat one statement enough to
+ * look like an N+1.
+ */
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestProfilingFilter.class);
+
+    private final MeterRegistry registry;
+    private final long slowRequestNanos;
+    private final int repeatedStatementThreshold;
+
+    public RequestProfilingFilter(MeterRegistry registry, long slowRequestMillis, int repeatedStatementThreshold) {
+        this.registry = registry;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestProfile profile = RequestProfile.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestProfile.clear();
+            report(request, profile, System.nanoTime() - profile.startNanos);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestProfile profile, long totalNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Only mapped endpoints get meters, so unknown paths cannot blow up tag cardinality
+        String uri = pattern != null ? pattern.toString() : null;
+        if (uri != null) {
+            DistributionSummary.builder("dashboard.request.sql.statements")
+                    .description("SQL statements Hibernate ran per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(registry).record(profile.statements);
+            Timer.builder("dashboard.request.sql.time")
+                    .description("Time spent executing SQL per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(registry).record(profile.sqlNanos, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("dashboard.request.entities.loaded")
+                    .description("Entities Hibernate loaded per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(registry).record(profile.entitiesLoaded);
+        }
+
+        Map.Entry<String, Integer> repeated = profile.mostRepeatedStatement();
+        if (repeated != null && repeated.getValue() >= repeatedStatementThreshold) {
+            registry.counter("dashboard.request.repeated.statements", "method", request.getMethod(),
+                    "uri", uri != null ? uri : "UNMAPPED").increment();
+            log.warn("Possible N+1 in {} {}: same statement ran {} times: {}", request.getMethod(),
+                    request.getRequestURI(), repeated.getValue(), repeated.getKey());
+        }
+
+        if (totalNanos >= slowRequestNanos) {
+            long handlerNanos = profile.handlerNanos;
+            log.warn("Slow request {} {} took {} ms: filters {} ms, handler {} ms (service {} ms, SQL {} ms in {} "
+                    + "statements, {} entities loaded)", request.getMethod(), request.getRequestURI(),
+                    millis(totalNanos), millis(totalNanos - handlerNanos), millis(handlerNanos),
+                    millis(profile.serviceNanos), millis(profile.sqlNanos), profile.statements,
+                    profile.entitiesLoaded);
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -1,18 +1,25 @@
 package com.example.ecommerce.config;
 
+import com.example.ecommerce.controller.ReportController;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
@@ -29,17 +36,50 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter authFilter;
 
+    @Value("${security.scraper.username:prometheus}")
+    private String scraperUsername;
+
+    @Value("${security.scraper.password:}")
+    private String scraperPassword;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return new UserInfoUserDetailsService();
     }
 
+    // Scrapers send HTTP basic credentials instead of a token; with no password configured every scrape is refused
+    @Bean
+    @Order(1)
+    public SecurityFilterChain prometheusFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(new AntPathRequestMatcher("/actuator/prometheus"))
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        if (scraperPassword.isEmpty()) {
+            return http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll()).build();
+        }
+        DaoAuthenticationProvider scraperProvider = new DaoAuthenticationProvider();
+        scraperProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(scraperUsername)
+                .password(scraperPassword).roles("SCRAPER").build()));
+        scraperProvider.setPasswordEncoder(passwordEncoder());
+        return http.authorizeHttpRequests(auth -> auth.anyRequest().hasRole("SCRAPER"))
+                .authenticationManager(new ProviderManager(scraperProvider))
+                .httpBasic(basic -> { })
+                .build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http.csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch of an already-authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Error pages render the status a handler already chose (404, 409, ...) instead of a blanket 403
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/auth/**")).permitAll()
+                        // Authorized by the signed token in the link itself
+                        .requestMatchers(new AntPathRequestMatcher(ReportController.DOWNLOAD_PATH, "GET")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/health")).permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
@@ -0,0 +1,36 @@
+package com.example.ecommerce.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the JDBC execution time of every Hibernate statement and batch to the current
+ * {@link RequestProfile}. Hibernate creates one per session from hibernate.session.events.auto.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.sqlStarted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.sqlFinished();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ecommerce.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long a restart keeps the dashboard unavailable, from JVM start to the first
+ * request answered. Boot already publishes {@code application.ready.time}; this adds
+ * {@code dashboard.startup.first.request} and logs both once.
+ */
+@Component
+public class StartupTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimer.class);
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong readyMillis = new AtomicLong(-1);
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    public StartupTimer(MeterRegistry registry) {
+        TimeGauge.builder("dashboard.startup.first.request", firstRequestMillis, TimeUnit.MILLISECONDS,
+                        millis -> Math.max(millis.get(), 0))
+                .description("Time from JVM start until the first HTTP request was served")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyMillis.set(System.currentTimeMillis() - jvmStartMillis);
+        log.info("Ready {} ms after JVM start", readyMillis.get());
+    }
+
+    // DispatcherServlet publishes one of these after every request; only the first does any work
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (!firstRequestSeen.get() && firstRequestSeen.compareAndSet(false, true)) {
+            firstRequestMillis.set(System.currentTimeMillis() - jvmStartMillis);
+            log.info("First request ({}) served {} ms after JVM start", event.getRequestUrl(), firstRequestMillis.get());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified bearer tokens mapped to the user they authenticate, so a repeat request skips both
+ * signature verification and the user lookup. Entries never outlive the token itself, and
+ * logged-out tokens are remembered until they would have expired anyway.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private static final class Entry {
+        final UserDetails user;
+        final long expiresAtMillis;
+
+        Entry(UserDetails user, long expiresAtMillis) {
+            this.user = user;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final Cache<String, Entry> verified;
+    private final Cache<String, Long> revoked;
+
+    public TokenAuthenticationCache(@Value("${security.token-cache.max-size:10000}") long maxSize,
+            @Value("${security.token-cache.ttl-seconds:300}") long ttlSeconds) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String token, Entry entry, long currentTime) {
+                        return Math.min(ttlNanos, remainingNanos(entry.expiresAtMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(token, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        // No size bound: evicting a revocation early would let a logged-out token authenticate again.
+        // Each entry lives only until the token's own exp, so the set is bounded by logouts per token lifetime.
+        revoked = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String token, Long expiresAtMillis, long currentTime) {
+                        return remainingNanos(expiresAtMillis);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Long expiresAtMillis, long currentTime,
+                            long currentDuration) {
+                        return remainingNanos(expiresAtMillis);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Long expiresAtMillis, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public UserDetails get(String token) {
+        Entry entry = verified.getIfPresent(token);
+        return entry != null ? entry.user : null;
+    }
+
+    public void put(String token, UserDetails user, long expiresAtMillis) {
+        verified.put(token, new Entry(user, expiresAtMillis));
+    }
+
+    public boolean isRevoked(String token) {
+        return revoked.getIfPresent(token) != null;
+    }
+
+    public void revoke(String token, long expiresAtMillis) {
+        revoked.put(token, expiresAtMillis);
+        verified.invalidate(token);
+    }
+
+    public void invalidateUser(String username) {
+        verified.asMap().values().removeIf(entry -> entry.user.getUsername().equals(username));
+    }
+
+    private static long remainingNanos(long expiresAtMillis) {
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiresAtMillis - System.currentTimeMillis()));
+    }
+}
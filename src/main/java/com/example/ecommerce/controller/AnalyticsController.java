@@ -0,0 +1,32 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.entity.AnalyticsQuery;
+import com.example.ecommerce.entity.AnalyticsResult;
+import com.example.ecommerce.service.OrderSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AnalyticsController {
+
+    @Autowired
+    private OrderSnapshotService orderSnapshotService;
+
+    // e.g. ?groupBy=location,month&status=Delivered&from=2024-01-01&sort=key
+    @GetMapping("/query")
+    public AnalyticsResult query(AnalyticsQuery query) {
+        return orderSnapshotService.query(query);
+    }
+
+    @GetMapping("/snapshot")
+    public Map<String, Object> getSnapshotStatistics() {
+        return orderSnapshotService.getStatistics();
+    }
+}
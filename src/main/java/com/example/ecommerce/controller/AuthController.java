@@ -1,9 +1,11 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.config.TokenAuthenticationCache;
 import com.example.ecommerce.entity.AuthRequest;
 import com.example.ecommerce.entity.UserInfo;
 import com.example.ecommerce.repository.UserInfoRepository;
 import com.example.ecommerce.service.JwtService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,13 +26,33 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private TokenAuthenticationCache tokenCache;
+
     @PostMapping("/new")
     public String addNewUser(@RequestBody UserInfo userInfo) {
         userInfo.setPassword(userInfo.getPassword());
         repository.save(userInfo);
+        // Cached sessions must not keep serving the previous roles for this name
+        tokenCache.invalidateUser(userInfo.getName());
         return "User added successfully";
     }
 
+    @PostMapping("/logout")
+    public org.springframework.http.ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+            Claims claims = jwtService.parseValidClaims(token);
+            if (claims != null) {
+                tokenCache.revoke(token, claims.getExpiration() != null
+                        ? claims.getExpiration().getTime()
+                        : System.currentTimeMillis() + 1000 * 60 * 30);
+            }
+        }
+        return org.springframework.http.ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/login")
     public org.springframework.http.ResponseEntity<String> authenticateAndGetToken(
             @RequestBody AuthRequest authRequest) {
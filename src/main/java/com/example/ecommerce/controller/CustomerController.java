@@ -1,8 +1,21 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.entity.CursorPage;
 import com.example.ecommerce.entity.Customer;
+import com.example.ecommerce.entity.CustomerDetail;
+import com.example.ecommerce.entity.IdName;
+import com.example.ecommerce.entity.Order;
 import com.example.ecommerce.service.CustomerService;
+import com.example.ecommerce.service.ListStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,7 +24,10 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,9 +39,42 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private ListStreamService listStreamService;
+
     @GetMapping
-    public List<Customer> getAllCustomers() {
-        return customerService.getAllCustomers();
+    public ResponseEntity<StreamingResponseBody> getAllCustomers(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listStreamService.stream(ListStreamService.CUSTOMERS, fields));
+    }
+
+    @GetMapping("/page")
+    public Page<Customer> searchCustomers(@RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "prefix") String match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 500)), Sort.by("name"));
+        return customerService.searchCustomers(q, "contains".equalsIgnoreCase(match), pageable);
+    }
+
+    @GetMapping("/typeahead")
+    public List<IdName> typeahead(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return customerService.typeahead(q, Math.max(1, Math.min(limit, 50)));
+    }
+
+    // Profile plus the first page of the customer's orders, newest first
+    @GetMapping("/{id}")
+    public CustomerDetail getCustomer(@PathVariable Long id, @RequestParam(defaultValue = "20") int size) {
+        return customerService.getCustomerDetail(id, Math.max(1, Math.min(size, 500)));
+    }
+
+    @GetMapping("/{id}/orders")
+    public CursorPage<Order> getCustomerOrders(@PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return customerService.getCustomerOrders(id, cursor, Math.max(1, Math.min(size, 500)));
     }
 
     @PostMapping
@@ -35,7 +84,11 @@ public class CustomerController {
 
     @PutMapping("/{id}")
     public Customer updateCustomer(@PathVariable Long id, @RequestBody Customer customer) {
-        return customerService.updateCustomer(id, customer);
+        try {
+            return customerService.updateCustomer(id, customer);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Customer was modified by someone else; reload and retry");
+        }
     }
 
     @DeleteMapping("/{id}")
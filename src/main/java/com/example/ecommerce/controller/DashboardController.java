@@ -1,15 +1,35 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.entity.AnalyticsData;
 import com.example.ecommerce.entity.DashboardStats;
+import com.example.ecommerce.entity.DashboardSummary;
+import com.example.ecommerce.entity.Granularity;
 import com.example.ecommerce.entity.TopCity;
+import com.example.ecommerce.service.DashboardCacheService;
+import com.example.ecommerce.service.DashboardFeedService;
 import com.example.ecommerce.service.DashboardService;
+import com.example.ecommerce.service.EntityCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -19,18 +39,78 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardCacheService dashboardCacheService;
+
+    @Autowired
+    private DashboardFeedService dashboardFeedService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    // checkNotModified answers If-None-Match with a bodiless 304 before any data is loaded
     @GetMapping("/stats")
-    public DashboardStats getStats() {
+    public DashboardStats getStats(WebRequest request) {
+        if (request.checkNotModified(dashboardCacheService.etag())) {
+            return null;
+        }
         return dashboardService.getStats();
     }
 
+    // Everything the dashboard page loads, in one request
+    @GetMapping("/summary")
+    public DashboardSummary getSummary(@RequestParam(defaultValue = "10") int recentOrders,
+            @RequestParam(defaultValue = "5") int topCities, WebRequest request, HttpServletResponse response) {
+        if (request.checkNotModified(dashboardCacheService.etag())) {
+            return null;
+        }
+        DashboardSummary summary = dashboardService.getSummary(Math.max(1, Math.min(recentOrders, 100)),
+                Math.max(1, Math.min(topCities, 100)));
+        if (!summary.getUnavailable().isEmpty()) {
+            // Not stored, so a partial summary is never revalidated against the ETag it went out with
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        }
+        return summary;
+    }
+
     @GetMapping("/top-cities")
-    public List<TopCity> getTopCities() {
-        return dashboardService.getTopCities();
+    public List<TopCity> getTopCities(@RequestParam(defaultValue = "5") int limit, WebRequest request) {
+        if (request.checkNotModified(dashboardCacheService.etag())) {
+            return null;
+        }
+        return dashboardService.getTopCities(Math.max(1, Math.min(limit, 100)));
     }
 
     @GetMapping("/analytics")
-    public com.example.ecommerce.entity.AnalyticsData getAnalyticsData() {
-        return dashboardService.getAnalyticsData();
+    public AnalyticsData getAnalyticsData(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String granularity, WebRequest request) {
+        if (request.checkNotModified(dashboardCacheService.etag())) {
+            return null;
+        }
+        Granularity bucket;
+        try {
+            bucket = Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown granularity " + granularity);
+        }
+        return dashboardService.getAnalyticsData(from, to, bucket);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        SseEmitter emitter = dashboardFeedService.subscribe();
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live dashboard connections");
+        }
+        return emitter;
+    }
+
+    @GetMapping("/cache-stats")
+    public Map<String, Map<String, Object>> getCacheStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>(dashboardCacheService.getStatistics());
+        statistics.putAll(entityCacheService.getStatistics());
+        return statistics;
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.entity.ImportJob;
+import com.example.ecommerce.service.BulkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@RestController
+@RequestMapping("/api/imports")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @PostMapping(value = "/{type}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJob> importFile(@PathVariable String type, @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) String format) throws IOException {
+        boolean ndjson = isNdjson(format, file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return submit(type, ndjson, in);
+        }
+    }
+
+    // Raw text/csv or application/x-ndjson body, for scripted syncs
+    @PostMapping("/{type}")
+    public ResponseEntity<ImportJob> importBody(@PathVariable String type, HttpServletRequest request,
+            @RequestParam(required = false) String format) throws IOException {
+        boolean ndjson = isNdjson(format, null, request.getContentType());
+        try (InputStream in = request.getInputStream()) {
+            return submit(type, ndjson, in);
+        }
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ImportJob getJob(@PathVariable String id) {
+        ImportJob job = bulkImportService.getJob(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found");
+        }
+        return job;
+    }
+
+    private ResponseEntity<ImportJob> submit(String type, boolean ndjson, InputStream in) throws IOException {
+        if (!BulkImportService.TYPES.contains(type)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown import type " + type);
+        }
+        // Spool to disk so the job can outlive the request without holding the upload in memory
+        Path spool = Files.createTempFile("import-" + type + "-", ndjson ? ".ndjson" : ".csv");
+        Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            return ResponseEntity.accepted().body(bulkImportService.submit(type, ndjson, spool));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    private static boolean isNdjson(String format, String filename, String contentType) {
+        if (format != null) {
+            return format.equalsIgnoreCase("ndjson") || format.equalsIgnoreCase("jsonl");
+        }
+        if (filename != null && (filename.endsWith(".ndjson") || filename.endsWith(".jsonl"))) {
+            return true;
+        }
+        return contentType != null && (contentType.contains("ndjson") || contentType.contains("jsonl"));
+    }
+}
@@ -1,10 +1,22 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.entity.CursorPage;
 import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderFilter;
+import com.example.ecommerce.service.IdempotencyService;
+import com.example.ecommerce.service.ListStreamService;
 import com.example.ecommerce.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -12,28 +24,69 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173")
 public class OrderController {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ListStreamService listStreamService;
+
+    // ?fields=id,orderId,amount returns only those properties
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderService.getAllOrders();
+    public ResponseEntity<StreamingResponseBody> getAllOrders(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listStreamService.stream(ListStreamService.ORDERS, fields));
+    }
+
+    // Keyset pagination: pass the returned nextCursor back to get the following page
+    @GetMapping("/page")
+    public CursorPage<Order> getOrderPage(OrderFilter filter,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return orderService.getOrderPage(filter, sort, direction, cursor, Math.max(1, Math.min(size, 500)));
     }
 
-    // Alias for Dashboard compatibility if needed, or update dashboard to use root
     @GetMapping("/recent")
-    public List<Order> getRecentOrders() {
-        return orderService.getAllOrders();
+    public List<Order> getRecentOrders(@RequestParam(defaultValue = "10") int limit) {
+        return orderService.getRecentOrders(Math.max(1, Math.min(limit, 100)));
     }
 
+    // Retries carrying the same Idempotency-Key get the originally created order back
     @PostMapping
-    public Order createOrder(@RequestBody Order order) {
-        return orderService.saveOrder(order);
+    public Order createOrder(@RequestBody Order order,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
+        try {
+            if (idempotencyKey == null || idempotencyKey.isBlank()) {
+                return orderService.saveOrder(order);
+            }
+            if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+            }
+            // Keys are per user so two clients cannot collide on the same value
+            String key = principal.getName() + ":" + idempotencyKey;
+            int fingerprint = IdempotencyService.fingerprint(order.getOrderId(), order.getCustomer(),
+                    order.getLocation(), order.getAmount(), order.getStatus(), order.getDate());
+            return idempotencyService.execute(key, fingerprint, () -> orderService.saveOrder(order));
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order ID " + order.getOrderId() + " already exists");
+        }
     }
 
     @PutMapping("/{id}")
     public Order updateOrder(@PathVariable Long id, @RequestBody Order order) {
-        return orderService.updateOrder(id, order);
+        try {
+            return orderService.updateOrder(id, order);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order was modified by someone else; reload and retry");
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -1,9 +1,21 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.entity.IdName;
 import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.service.ListStreamService;
 import com.example.ecommerce.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,9 +27,30 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ListStreamService listStreamService;
+
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<StreamingResponseBody> getAllProducts(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listStreamService.stream(ListStreamService.PRODUCTS, fields));
+    }
+
+    @GetMapping("/page")
+    public Page<Product> searchProducts(@RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "prefix") String match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 500)), Sort.by("name"));
+        return productService.searchProducts(q, category, "contains".equalsIgnoreCase(match), pageable);
+    }
+
+    @GetMapping("/typeahead")
+    public List<IdName> typeahead(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return productService.typeahead(q, Math.max(1, Math.min(limit, 50)));
     }
 
     @PostMapping
@@ -27,7 +60,28 @@ public class ProductController {
 
     @PutMapping("/{id}")
     public Product updateProduct(@PathVariable Long id, @RequestBody Product product) {
-        return productService.updateProduct(id, product);
+        try {
+            return productService.updateProduct(id, product);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Product was modified by someone else; reload and retry");
+        }
+    }
+
+    // 409 when there is not enough stock left; nothing is reserved in that case
+    @PostMapping("/{id}/reserve")
+    public Product reserveStock(@PathVariable Long id, @RequestParam int quantity) {
+        if (quantity <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must be positive");
+        }
+        return productService.reserveStock(id, quantity);
+    }
+
+    @PostMapping("/{id}/release")
+    public Product releaseStock(@PathVariable Long id, @RequestParam int quantity) {
+        if (quantity <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must be positive");
+        }
+        return productService.releaseStock(id, quantity);
     }
 
     @DeleteMapping("/{id}")
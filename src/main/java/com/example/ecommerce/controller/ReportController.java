@@ -0,0 +1,132 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.service.JwtService;
+import com.example.ecommerce.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ReportController {
+
+    // Same path as the permitAll rule in SecurityConfig; the link's token is the only credential
+    public static final String DOWNLOAD_PATH = "/api/reports/download";
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${reports.download-link.ttl-seconds:60}")
+    private long linkTtlSeconds;
+
+    @GetMapping("/{type}")
+    public ResponseEntity<StreamingResponseBody> exportReport(@PathVariable String type,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "Store Report") String storeName,
+            @RequestParam(defaultValue = "false") boolean inline) {
+        return export(type, format, storeName, inline);
+    }
+
+    /**
+     * Issues a short-lived link to the same export. The browser downloads it directly to disk (or
+     * opens it in a tab), where a fetch with the bearer header would have to hold the whole file
+     * in memory first.
+     */
+    @PostMapping("/{type}/link")
+    public Map<String, String> createDownloadLink(@PathVariable String type,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "Store Report") String storeName,
+            @RequestParam(defaultValue = "false") boolean inline,
+            Authentication authentication) {
+        // Validated now so a bad request fails here rather than in a tab the user cannot read errors from
+        resolveReport(type);
+        resolveFormat(format);
+        Map<String, Object> download = new HashMap<>();
+        download.put("type", type);
+        download.put("format", format);
+        download.put("storeName", storeName);
+        download.put("inline", inline);
+        String token = jwtService.generateDownloadToken(authentication.getName(), download,
+                TimeUnit.SECONDS.toMillis(linkTtlSeconds));
+        return Map.of("url", ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(DOWNLOAD_PATH).queryParam("token", token).toUriString());
+    }
+
+    @GetMapping("/download")
+    public ResponseEntity<StreamingResponseBody> download(@RequestParam String token) {
+        Map<String, Object> download = jwtService.parseDownloadToken(token);
+        if (download == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Download link is invalid or has expired");
+        }
+        return export((String) download.get("type"), (String) download.get("format"),
+                (String) download.get("storeName"), Boolean.TRUE.equals(download.get("inline")));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String type, String format, String storeName,
+            boolean inline) {
+        ReportService.Report report = resolveReport(type);
+        ReportService.Format reportFormat = resolveFormat(format);
+
+        MediaType mediaType;
+        switch (reportFormat) {
+            case CSV:
+                mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+                break;
+            case NDJSON:
+                mediaType = MediaType.APPLICATION_NDJSON;
+                break;
+            default:
+                mediaType = MediaType.APPLICATION_PDF;
+        }
+        String filename = type + "_report." + reportFormat.name().toLowerCase(Locale.ROOT);
+        ContentDisposition disposition = (inline ? ContentDisposition.inline() : ContentDisposition.attachment())
+                .filename(filename).build();
+
+        StreamingResponseBody body = out -> reportService.export(report, reportFormat, storeName, out);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    private ReportService.Report resolveReport(String type) {
+        ReportService.Report report = reportService.getReport(type);
+        if (report == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown report " + type);
+        }
+        return report;
+    }
+
+    private static ReportService.Format resolveFormat(String format) {
+        try {
+            return ReportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown format " + format);
+        }
+    }
+}
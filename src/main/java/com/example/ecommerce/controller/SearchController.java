@@ -0,0 +1,59 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.entity.SearchHit;
+import com.example.ecommerce.service.DataChangedEvent;
+import com.example.ecommerce.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    // Every word is matched as a prefix; type narrows to a comma-separated subset of orders,customers,products
+    @GetMapping
+    public List<SearchHit> search(@RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return searchService.search(q, kinds(type), Math.max(1, Math.min(limit, 50)));
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Map<String, Object>> getStats() {
+        return searchService.getStatistics();
+    }
+
+    private static Set<DataChangedEvent.Kind> kinds(String type) {
+        Set<DataChangedEvent.Kind> kinds = EnumSet.noneOf(DataChangedEvent.Kind.class);
+        if (type == null || type.isBlank()) {
+            return kinds;
+        }
+        for (String name : type.split(",")) {
+            switch (name.trim().toLowerCase()) {
+                case "orders":
+                    kinds.add(DataChangedEvent.Kind.ORDER);
+                    break;
+                case "customers":
+                    kinds.add(DataChangedEvent.Kind.CUSTOMER);
+                    break;
+                case "products":
+                    kinds.add(DataChangedEvent.Kind.PRODUCT);
+                    break;
+                default:
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown search type: " + name);
+            }
+        }
+        return kinds;
+    }
+}
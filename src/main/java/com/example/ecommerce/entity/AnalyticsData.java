@@ -29,33 +29,43 @@ public class AnalyticsData {
 
     public static class SalesData {
         private String name;
-        private int revenue;
-        private int expenses;
+        private long revenue;
+        private long expenses;
+        private long orders;
 
-        public SalesData(String name, int revenue, int expenses) {
+        public SalesData(String name, long revenue, long expenses) {
             this.name = name;
             this.revenue = revenue;
             this.expenses = expenses;
         }
 
+        public SalesData(String name, long revenue, long expenses, long orders) {
+            this(name, revenue, expenses);
+            this.orders = orders;
+        }
+
         public String getName() {
             return name;
         }
 
-        public int getRevenue() {
+        public long getRevenue() {
             return revenue;
         }
 
-        public int getExpenses() {
+        public long getExpenses() {
             return expenses;
         }
+
+        public long getOrders() {
+            return orders;
+        }
     }
 
     public static class CategoryData {
         private String name;
-        private int value;
+        private long value;
 
-        public CategoryData(String name, int value) {
+        public CategoryData(String name, long value) {
             this.name = name;
             this.value = value;
         }
@@ -64,7 +74,7 @@ public class AnalyticsData {
             return name;
         }
 
-        public int getValue() {
+        public long getValue() {
             return value;
         }
     }
@@ -0,0 +1,78 @@
+package com.example.ecommerce.entity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public class AnalyticsResult {
+    private List<Group> groups;
+    private int totalGroups; // before the limit was applied
+    private long orders;
+    private BigDecimal revenue;
+    private long scannedRows;
+    private double tookMs;
+
+    public AnalyticsResult(List<Group> groups, int totalGroups, long orders, BigDecimal revenue, long scannedRows,
+            double tookMs) {
+        this.groups = groups;
+        this.totalGroups = totalGroups;
+        this.orders = orders;
+        this.revenue = revenue;
+        this.scannedRows = scannedRows;
+        this.tookMs = tookMs;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public int getTotalGroups() {
+        return totalGroups;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public long getScannedRows() {
+        return scannedRows;
+    }
+
+    public double getTookMs() {
+        return tookMs;
+    }
+
+    public static class Group {
+        private Map<String, String> key; // dimension -> value, in groupBy order
+        private long orders;
+        private BigDecimal revenue;
+        private BigDecimal averageOrder;
+
+        public Group(Map<String, String> key, long orders, BigDecimal revenue, BigDecimal averageOrder) {
+            this.key = key;
+            this.orders = orders;
+            this.revenue = revenue;
+            this.averageOrder = averageOrder;
+        }
+
+        public Map<String, String> getKey() {
+            return key;
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+
+        public BigDecimal getAverageOrder() {
+            return averageOrder;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce.entity;
+
+public interface CategoryTotal {
+    String getCategory();
+
+    long getValueMinor();
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce.entity;
+
+public interface CityOrderCount {
+    String getLocation();
+
+    long getOrders();
+}
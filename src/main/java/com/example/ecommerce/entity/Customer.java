@@ -1,32 +1,63 @@
 package com.example.ecommerce.entity;
 
+import com.example.ecommerce.util.MoneyCodec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer")
+// Only changed columns are written, so a profile edit never writes back order stats it read earlier
+@DynamicUpdate
 public class Customer {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     private String name;
     private String email;
     private String phone;
     private String location;
-    private Integer orders;
     private String status;
 
+    // Maintained from customer_orders by CustomerOrderStatsService, never taken from request bodies.
+    // Excluded from the version so order traffic does not make a concurrent profile edit conflict.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @OptimisticLock(excluded = true)
+    private Integer orders = 0;
+
+    @JsonIgnore
+    @OptimisticLock(excluded = true)
+    @ColumnDefault("0")
+    @Column(name = "lifetime_value_minor", nullable = false)
+    private Long lifetimeValueMinor = 0L;
+
     public Customer() {
     }
 
-    public Customer(String name, String email, String phone, String location, Integer orders, String status) {
+    public Customer(String name, String email, String phone, String location, String status) {
         this.name = name;
         this.email = email;
         this.phone = phone;
         this.location = location;
-        this.orders = orders;
         this.status = status;
     }
 
@@ -38,6 +69,14 @@ public class Customer {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -74,8 +113,22 @@ public class Customer {
         return orders;
     }
 
-    public void setOrders(Integer orders) {
+    public Long getLifetimeValueMinor() {
+        return lifetimeValueMinor;
+    }
+
+    public void applyOrderDelta(int countDelta, long valueDelta) {
+        orders = (orders != null ? orders : 0) + countDelta;
+        lifetimeValueMinor = (lifetimeValueMinor != null ? lifetimeValueMinor : 0) + valueDelta;
+    }
+
+    public void setOrderStats(int orders, long lifetimeValueMinor) {
         this.orders = orders;
+        this.lifetimeValueMinor = lifetimeValueMinor;
+    }
+
+    public String getLifetimeValue() {
+        return MoneyCodec.format(lifetimeValueMinor != null ? lifetimeValueMinor : 0, MoneyCodec.DEFAULT_CURRENCY);
     }
 
     public String getStatus() {
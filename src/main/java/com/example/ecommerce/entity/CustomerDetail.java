@@ -0,0 +1,19 @@
+package com.example.ecommerce.entity;
+
+public class CustomerDetail {
+    private Customer customer;
+    private CursorPage<Order> orders; // newest first; page on with /api/customers/{id}/orders?cursor=
+
+    public CustomerDetail(Customer customer, CursorPage<Order> orders) {
+        this.customer = customer;
+        this.orders = orders;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public CursorPage<Order> getOrders() {
+        return orders;
+    }
+}
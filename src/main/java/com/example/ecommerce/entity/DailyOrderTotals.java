@@ -0,0 +1,11 @@
+package com.example.ecommerce.entity;
+
+import java.time.LocalDate;
+
+public interface DailyOrderTotals {
+    LocalDate getDay();
+
+    long getOrderCount();
+
+    long getRevenueMinor();
+}
@@ -0,0 +1,34 @@
+package com.example.ecommerce.entity;
+
+import java.util.List;
+
+public class DashboardSummary {
+    private DashboardStats stats;
+    private List<Order> recentOrders;
+    private List<TopCity> topCities;
+    private List<String> unavailable; // sections left null because they timed out or failed
+
+    public DashboardSummary(DashboardStats stats, List<Order> recentOrders, List<TopCity> topCities,
+            List<String> unavailable) {
+        this.stats = stats;
+        this.recentOrders = recentOrders;
+        this.topCities = topCities;
+        this.unavailable = unavailable;
+    }
+
+    public DashboardStats getStats() {
+        return stats;
+    }
+
+    public List<Order> getRecentOrders() {
+        return recentOrders;
+    }
+
+    public List<TopCity> getTopCities() {
+        return topCities;
+    }
+
+    public List<String> getUnavailable() {
+        return unavailable;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce.entity;
+
+public enum Granularity {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce.entity;
+
+public interface IdName {
+    Long getId();
+
+    String getName();
+}
@@ -1,6 +1,12 @@
 package com.example.ecommerce.entity;
 
+import com.example.ecommerce.util.MoneyCodec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 
 @Entity
 @Table(name = "customer_orders")
@@ -9,13 +15,35 @@ public class Order {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     private String orderId; // Display ID e.g., ORD-001
     private String customer;
+
+    // customer.id of the account placing the order; null for orders only known by customer name
+    @Column(name = "customer_id")
+    private Long customerId;
     private String location;
     private String amount;
     private String status;
     private String date;
 
+    // Numeric shadows of amount/date, kept in sync by the setters so SQL can sum and range-scan
+    @JsonIgnore
+    @Column(name = "amount_minor")
+    private Long amountMinor;
+
+    @JsonIgnore
+    @Column(length = 3)
+    private String currency;
+
+    @JsonIgnore
+    @Column(name = "order_date")
+    private LocalDate orderDate;
+
     public Order() {
     }
 
@@ -23,9 +51,9 @@ public class Order {
         this.orderId = orderId;
         this.customer = customer;
         this.location = location;
-        this.amount = amount;
         this.status = status;
-        this.date = date;
+        setAmount(amount);
+        setDate(date);
     }
 
     public Long getId() {
@@ -36,6 +64,14 @@ public class Order {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getOrderId() {
         return orderId;
     }
@@ -52,6 +88,14 @@ public class Order {
         this.customer = customer;
     }
 
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
     public String getLocation() {
         return location;
     }
@@ -66,6 +110,8 @@ public class Order {
 
     public void setAmount(String amount) {
         this.amount = amount;
+        this.amountMinor = MoneyCodec.parseMinorUnits(amount);
+        this.currency = MoneyCodec.currencyCode(amount);
     }
 
     public String getStatus() {
@@ -82,5 +128,29 @@ public class Order {
 
     public void setDate(String date) {
         this.date = date;
+        this.orderDate = parseDate(date);
+    }
+
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public LocalDate getOrderDate() {
+        return orderDate;
+    }
+
+    public static LocalDate parseDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 }
\ No newline at end of file
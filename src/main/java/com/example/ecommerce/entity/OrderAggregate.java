@@ -0,0 +1,53 @@
+package com.example.ecommerce.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "order_aggregates")
+public class OrderAggregate {
+    // Id of the first stripe row; the totals are the sum of all of them and are reported under this id
+    public static final int GLOBAL = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    // Sum of Order.amountMinor
+    @Column(name = "revenue_minor", nullable = false)
+    private long revenueMinor;
+
+    public OrderAggregate() {
+    }
+
+    public OrderAggregate(Integer id, long orderCount, long revenueMinor) {
+        this.id = id;
+        this.orderCount = orderCount;
+        this.revenueMinor = revenueMinor;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public long getRevenueMinor() {
+        return revenueMinor;
+    }
+
+    public void setRevenueMinor(long revenueMinor) {
+        this.revenueMinor = revenueMinor;
+    }
+}
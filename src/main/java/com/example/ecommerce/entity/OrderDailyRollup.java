@@ -0,0 +1,91 @@
+package com.example.ecommerce.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "order_daily_rollups")
+@IdClass(OrderDailyRollup.Key.class)
+public class OrderDailyRollup {
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    // A day's totals are the sum of its stripe rows; writers pick one at random
+    @Id
+    private int stripe;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "revenue_minor", nullable = false)
+    private long revenueMinor;
+
+    public OrderDailyRollup() {
+    }
+
+    public LocalDate getBucketDate() {
+        return bucketDate;
+    }
+
+    public void setBucketDate(LocalDate bucketDate) {
+        this.bucketDate = bucketDate;
+    }
+
+    public int getStripe() {
+        return stripe;
+    }
+
+    public void setStripe(int stripe) {
+        this.stripe = stripe;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public long getRevenueMinor() {
+        return revenueMinor;
+    }
+
+    public void setRevenueMinor(long revenueMinor) {
+        this.revenueMinor = revenueMinor;
+    }
+
+    public static class Key implements Serializable {
+        private LocalDate bucketDate;
+        private int stripe;
+
+        public Key() {
+        }
+
+        public Key(LocalDate bucketDate, int stripe) {
+            this.bucketDate = bucketDate;
+            this.stripe = stripe;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return stripe == key.stripe && Objects.equals(bucketDate, key.bucketDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bucketDate, stripe);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce.entity;
+
+public interface OrderTotals {
+    long getOrderCount();
+
+    long getRevenueMinor();
+}
@@ -1,20 +1,42 @@
 package com.example.ecommerce.entity;
 
+import com.example.ecommerce.util.MoneyCodec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @Table(name = "product")
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock: bumped on every write; a PUT carrying an older value is rejected with 409
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     private String name;
     private String category;
     private String price;
     private Integer stock;
     private String status;
 
+    // Numeric shadow of price, kept in sync by setPrice
+    @JsonIgnore
+    @Column(name = "price_minor")
+    private Long priceMinor;
+
+    @JsonIgnore
+    @Column(length = 3)
+    private String currency;
+
     public Product() {}
 
     public Long getId() {
@@ -25,6 +47,14 @@ public class Product {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -47,6 +77,16 @@ public class Product {
 
     public void setPrice(String price) {
         this.price = price;
+        this.priceMinor = MoneyCodec.parseMinorUnits(price);
+        this.currency = MoneyCodec.currencyCode(price);
+    }
+
+    public Long getPriceMinor() {
+        return priceMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
     }
 
     public Integer getStock() {
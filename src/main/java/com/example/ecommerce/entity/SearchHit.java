@@ -0,0 +1,37 @@
+package com.example.ecommerce.entity;
+
+public class SearchHit {
+    private String type; // order, customer or product
+    private Long id;
+    private String title;
+    private String subtitle;
+    private int score;
+
+    public SearchHit(String type, Long id, String title, String subtitle, int score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.score = score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSubtitle() {
+        return subtitle;
+    }
+
+    public int getScore() {
+        return score;
+    }
+}
@@ -1,9 +1,58 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.entity.Customer;
+import com.example.ecommerce.entity.CustomerOrderTotals;
+import com.example.ecommerce.entity.IdName;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    // List and search results go through the query cache; Hibernate invalidates them on any customer write
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Customer> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Customer> findAll(Pageable pageable);
+
+    // Prefix matches can use the name/email indexes; the column collation makes them case-insensitive
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Customer> findByNameStartingWithOrEmailStartingWith(String name, String email, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Customer> findByNameContainingOrEmailContaining(String name, String email, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<IdName> findByNameStartingWithOrderByName(String prefix, Pageable pageable);
+
+    // SELECT ... FOR UPDATE straight from the database, so order writes for one customer apply their
+    // stats deltas one after another and each write touches only that customer's cache entry
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Customer c WHERE c.id = :id")
+    Optional<Customer> findForUpdate(@Param("id") Long id);
+
+    @Query("SELECT c.id FROM Customer c LEFT JOIN Order o ON o.customerId = c.id "
+            + "GROUP BY c.id, c.orders, c.lifetimeValueMinor "
+            + "HAVING COUNT(o.id) <> COALESCE(c.orders, -1) OR COALESCE(SUM(o.amountMinor), 0) <> c.lifetimeValueMinor "
+            + "ORDER BY c.id")
+    List<Long> findIdsWithOrderStatsDrift();
+
+    @Query("SELECT COUNT(o.id) AS orders, COALESCE(SUM(o.amountMinor), 0) AS lifetimeValueMinor "
+            + "FROM Order o WHERE o.customerId = :id")
+    CustomerOrderTotals sumOrders(@Param("id") Long id);
 }
@@ -0,0 +1,40 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.entity.OrderAggregate;
+import com.example.ecommerce.entity.OrderTotals;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderAggregateRepository extends JpaRepository<OrderAggregate, Integer> {
+
+    // Upsert, so the first delta for a stripe creates its row. Without declared spaces Hibernate would
+    // empty the whole second-level cache after this native write.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_aggregates"))
+    @Query(value = "INSERT INTO order_aggregates (id, order_count, revenue_minor) "
+            + "VALUES (:id, :countDelta, :revenueDelta) ON DUPLICATE KEY UPDATE "
+            + "order_count = order_count + VALUES(order_count), revenue_minor = revenue_minor + VALUES(revenue_minor)",
+            nativeQuery = true)
+    int applyDelta(@Param("id") Integer id, @Param("countDelta") long countDelta,
+            @Param("revenueDelta") long revenueDelta);
+
+    @Query("SELECT COALESCE(SUM(a.orderCount), 0) AS orderCount, COALESCE(SUM(a.revenueMinor), 0) AS revenueMinor "
+            + "FROM OrderAggregate a")
+    OrderTotals sumStripes();
+
+    // Ascending ids, the same order any other multi-stripe locker takes them in
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM OrderAggregate a ORDER BY a.id")
+    List<OrderAggregate> findAllForUpdate();
+}
@@ -0,0 +1,56 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.entity.DailyOrderTotals;
+import com.example.ecommerce.entity.OrderDailyRollup;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderDailyRollupRepository extends JpaRepository<OrderDailyRollup, OrderDailyRollup.Key> {
+
+    // One row per day: the sum of that day's stripes
+    @Query("SELECT r.bucketDate AS day, SUM(r.orderCount) AS orderCount, SUM(r.revenueMinor) AS revenueMinor "
+            + "FROM OrderDailyRollup r WHERE r.bucketDate BETWEEN :from AND :to "
+            + "GROUP BY r.bucketDate ORDER BY r.bucketDate")
+    List<DailyOrderTotals> sumByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Without declared spaces Hibernate assumes a native write touched every table and empties the
+    // whole second-level cache, products and customers included
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_daily_rollups"))
+    @Query(value = "INSERT INTO order_daily_rollups (bucket_date, stripe, order_count, revenue_minor) "
+            + "VALUES (:day, :stripe, :countDelta, :revenueDelta) ON DUPLICATE KEY UPDATE "
+            + "order_count = order_count + VALUES(order_count), revenue_minor = revenue_minor + VALUES(revenue_minor)",
+            nativeQuery = true)
+    int applyDelta(@Param("day") LocalDate day, @Param("stripe") int stripe, @Param("countDelta") long countDelta,
+            @Param("revenueDelta") long revenueDelta);
+
+    // Ascending stripes, the same order any other locker of a whole day takes them in
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM OrderDailyRollup r WHERE r.bucketDate = :day ORDER BY r.stripe")
+    List<OrderDailyRollup> findDayForUpdate(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query("DELETE FROM OrderDailyRollup r WHERE r.bucketDate = :day")
+    int deleteDay(@Param("day") LocalDate day);
+
+    @Query("SELECT o.orderDate AS day, COUNT(o) AS orderCount, COALESCE(SUM(o.amountMinor), 0) AS revenueMinor "
+            + "FROM Order o WHERE o.orderDate IS NOT NULL GROUP BY o.orderDate")
+    List<DailyOrderTotals> sumOrdersByDay();
+
+    @Query("SELECT o.orderDate AS day, COUNT(o) AS orderCount, COALESCE(SUM(o.amountMinor), 0) AS revenueMinor "
+            + "FROM Order o WHERE o.orderDate = :day GROUP BY o.orderDate")
+    Optional<DailyOrderTotals> sumOrdersOn(@Param("day") LocalDate day);
+}
@@ -1,9 +1,34 @@
 package com.example.ecommerce.repository;
 
+import com.example.ecommerce.entity.CityOrderCount;
 import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderTotals;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-}
\ No newline at end of file
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    @Query("SELECT COUNT(o) AS orderCount, COALESCE(SUM(o.amountMinor), 0) AS revenueMinor FROM Order o")
+    OrderTotals computeTotals();
+
+    // Served from idx_customer_orders_location; only the requested page of groups leaves the database.
+    // Equal counts rank by name, so a tie at the limit always keeps the same cities
+    @Query("SELECT o.location AS location, COUNT(o) AS orders FROM Order o "
+            + "WHERE o.location IS NOT NULL AND o.location <> '' "
+            + "GROUP BY o.location ORDER BY COUNT(o) DESC, o.location")
+    List<CityOrderCount> findTopLocations(Pageable pageable);
+
+    List<Order> findAllByOrderByIdDesc(Pageable pageable);
+
+    // Orders outlive a deleted customer account; they keep the customer name but lose the link
+    @Modifying
+    @Query("UPDATE Order o SET o.customerId = NULL, o.version = o.version + 1 WHERE o.customerId = :customerId")
+    int detachCustomer(@Param("customerId") Long customerId);
+}
@@ -0,0 +1,18 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderFilter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Keyset page of orders: rows strictly after ({@code afterDate}, {@code afterId}) in the
+     * requested order. Pass null keys for the first page. Under date ordering, orders without an
+     * order date follow all dated ones by id; a cursor on one of them has a null {@code afterDate}.
+     */
+    List<Order> findPage(OrderFilter filter, boolean byDate, boolean ascending,
+            LocalDate afterDate, Long afterId, int limit);
+}
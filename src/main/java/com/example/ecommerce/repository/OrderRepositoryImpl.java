@@ -0,0 +1,111 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Order> findPage(OrderFilter filter, boolean byDate, boolean ascending,
+            LocalDate afterDate, Long afterId, int limit) {
+        if (!byDate) {
+            return query(filter, (cb, order) -> afterId == null ? null : afterById(cb, order, ascending, afterId),
+                    false, ascending, limit);
+        }
+        // Orders whose date never parsed come after every dated one in both directions. Each part is
+        // its own keyset query, so both keep using their index; a cursor without a date is in the second.
+        List<Order> rows = new ArrayList<>();
+        boolean inUndatedTail = afterDate == null && afterId != null;
+        if (!inUndatedTail) {
+            rows.addAll(query(filter, (cb, order) -> {
+                Path<LocalDate> orderDate = order.get("orderDate");
+                Path<Long> id = order.get("id");
+                if (afterDate == null || afterId == null) {
+                    return cb.isNotNull(orderDate);
+                }
+                return ascending
+                        ? cb.or(cb.greaterThan(orderDate, afterDate),
+                                cb.and(cb.equal(orderDate, afterDate), cb.greaterThan(id, afterId)))
+                        : cb.or(cb.lessThan(orderDate, afterDate),
+                                cb.and(cb.equal(orderDate, afterDate), cb.lessThan(id, afterId)));
+            }, true, ascending, limit));
+        }
+        // A date range can never match an undated order
+        if (rows.size() < limit && filter.getFrom() == null && filter.getTo() == null) {
+            rows.addAll(query(filter, (cb, order) -> {
+                Predicate undated = cb.isNull(order.get("orderDate"));
+                if (!inUndatedTail) {
+                    return undated;
+                }
+                return cb.and(undated, afterById(cb, order, ascending, afterId));
+            }, false, ascending, limit - rows.size()));
+        }
+        return rows;
+    }
+
+    private List<Order> query(OrderFilter filter, BiFunction<CriteriaBuilder, Root<Order>, Predicate> keyset,
+            boolean byDate, boolean ascending, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Order> query = cb.createQuery(Order.class);
+        Root<Order> order = query.from(Order.class);
+        Path<Long> id = order.get("id");
+        Path<LocalDate> orderDate = order.get("orderDate");
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            where.add(cb.equal(order.get("status"), filter.getStatus()));
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isEmpty()) {
+            where.add(cb.equal(order.get("location"), filter.getLocation()));
+        }
+        if (filter.getCustomer() != null && !filter.getCustomer().isEmpty()) {
+            where.add(cb.like(order.get("customer"), escapeLike(filter.getCustomer()) + "%", '\\'));
+        }
+        if (filter.getCustomerId() != null) {
+            where.add(cb.equal(order.get("customerId"), filter.getCustomerId()));
+        }
+        if (filter.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(orderDate, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.add(cb.lessThanOrEqualTo(orderDate, filter.getTo()));
+        }
+        Predicate after = keyset.apply(cb, order);
+        if (after != null) {
+            where.add(after);
+        }
+
+        if (byDate) {
+            query.orderBy(ascending ? List.of(cb.asc(orderDate), cb.asc(id))
+                    : List.of(cb.desc(orderDate), cb.desc(id)));
+        } else {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        }
+        query.select(order).where(where.toArray(new Predicate[0]));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static Predicate afterById(CriteriaBuilder cb, Root<Order> order, boolean ascending, long afterId) {
+        Path<Long> id = order.get("id");
+        return ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,9 +1,45 @@
 package com.example.ecommerce.repository;
 
+import com.example.ecommerce.entity.CategoryTotal;
+import com.example.ecommerce.entity.IdName;
 import com.example.ecommerce.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // List and search results go through the query cache; Hibernate invalidates them on any product write
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Product> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findAll(Pageable pageable);
+
+    @Query("SELECT p.category AS category, COALESCE(SUM(p.priceMinor * p.stock), 0) AS valueMinor FROM Product p "
+            + "WHERE p.category IS NOT NULL GROUP BY p.category ORDER BY valueMinor DESC")
+    List<CategoryTotal> sumStockValueByCategory();
+
+    // Prefix matches can use the name/category indexes; the column collation makes them case-insensitive
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findByNameStartingWithOrCategoryStartingWith(String name, String category, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findByNameContainingOrCategoryContaining(String name, String category, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findByCategory(String category, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<IdName> findByNameStartingWithOrderByName(String prefix, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,520 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.ImportJob;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.util.CsvReader;
+import com.example.ecommerce.util.RecordTooLongException;
+import com.example.ecommerce.util.MoneyCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous CSV/NDJSON ingestion for orders, products and customers. Files are read one
+ * record at a time, validated per row, and written with JDBC batch inserts in their own short
+ * transactions; AUTO_INCREMENT keys are assigned by MySQL so nothing forces row-at-a-time
+ * inserts. A batch the database rejects is retried row by row so only the offending rows are
+ * reported. Order batches also apply their totals to the dashboard aggregates, rollups and
+ * linked customers.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    public static final List<String> TYPES = List.of("orders", "products", "customers");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private OrderRollupService orderRollupService;
+
+    @Autowired
+    private CustomerOrderStatsService customerOrderStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Value("${dashboard.import.batch-size:1000}")
+    private int batchSize;
+
+    // Caps on what one row may buffer, so a stray quote cannot pull the rest of the upload into memory
+    @Value("${dashboard.import.max-field-length:8192}")
+    private int maxFieldLength;
+
+    @Value("${dashboard.import.max-record-length:65536}")
+    private int maxRecordLength;
+
+    private final Cache<String, ImportJob> jobs = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+
+    private final ThreadPoolExecutor executor;
+
+    public BulkImportService(@Value("${dashboard.import.threads:2}") int threads,
+            @Value("${dashboard.import.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJob getJob(String id) {
+        return jobs.getIfPresent(id);
+    }
+
+    /** Queues an import of the given file, which is deleted once the job finishes. */
+    public ImportJob submit(String type, boolean ndjson, Path file) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), type);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, ndjson, file));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            deleteQuietly(file);
+            throw new IllegalStateException("Too many imports in progress");
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, boolean ndjson, Path file) {
+        job.start();
+        RowWriter writer = writerFor(job.getType());
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<Long> rowNumbers = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RecordSource source = ndjson ? ndjsonSource(reader) : csvSource(reader);
+            long rowNumber = 0;
+            Map<String, String> values;
+            while (true) {
+                rowNumber++;
+                try {
+                    values = source.next();
+                } catch (RecordTooLongException e) {
+                    job.rowRead();
+                    job.reject(rowNumber, e.getMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    job.rowRead();
+                    job.reject(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                if (values == null) {
+                    break;
+                }
+                job.rowRead();
+                try {
+                    batch.add(writer.toRow(values));
+                    rowNumbers.add(rowNumber);
+                } catch (IllegalArgumentException e) {
+                    job.reject(rowNumber, e.getMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    flush(job, writer, batch, rowNumbers);
+                }
+            }
+            flush(job, writer, batch, rowNumbers);
+            job.complete();
+        } catch (Exception e) {
+            log.error("Import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private void flush(ImportJob job, RowWriter writer, List<Object[]> batch, List<Long> rowNumbers) {
+        writer.rejectConflicts(job, batch, rowNumbers);
+        if (!batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    writer.write(batch);
+                    eventPublisher.publishEvent(new DataChangedEvent(writer.kind()));
+                });
+                job.rowsImported(batch.size());
+            } catch (DataIntegrityViolationException e) {
+                // The batch rolled back as a whole; retrying row by row keeps the good rows and names the bad ones
+                long imported = writeRowByRow(job, writer, batch, rowNumbers);
+                if (imported > 0) {
+                    eventPublisher.publishEvent(new DataChangedEvent(writer.kind()));
+                }
+                job.rowsImported(imported);
+            }
+            // JDBC inserts are invisible to Hibernate, so cached product/customer lists are dropped by hand
+            entityCacheService.evict(writer.kind());
+        }
+        batch.clear();
+        rowNumbers.clear();
+    }
+
+    private long writeRowByRow(ImportJob job, RowWriter writer, List<Object[]> batch, List<Long> rowNumbers) {
+        long imported = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            List<Object[]> single = Collections.singletonList(batch.get(i));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writer.write(single));
+                imported++;
+            } catch (DataIntegrityViolationException e) {
+                job.reject(rowNumbers.get(i), "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        return imported;
+    }
+
+    private interface RecordSource {
+        Map<String, String> next() throws IOException;
+    }
+
+    private RecordSource csvSource(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader, maxFieldLength, maxRecordLength);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        String[] keys = header.stream().map(BulkImportService::normalizeKey).toArray(String[]::new);
+        return () -> {
+            List<String> record = csv.next();
+            if (record == null) {
+                return null;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < keys.length && i < record.size(); i++) {
+                values.put(keys[i], record.get(i));
+            }
+            return values;
+        };
+    }
+
+    private RecordSource ndjsonSource(BufferedReader reader) {
+        StringBuilder buffer = new StringBuilder();
+        long[] lineNumber = {0};
+        return () -> {
+            String line;
+            do {
+                line = readLine(reader, buffer, ++lineNumber[0]);
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            Map<?, ?> json = objectMapper.readValue(line, Map.class);
+            Map<String, String> values = new HashMap<>();
+            json.forEach((k, v) -> values.put(normalizeKey(String.valueOf(k)), v == null ? null : String.valueOf(v)));
+            return values;
+        };
+    }
+
+    // BufferedReader.readLine would buffer a line of any length; this one stops at the record limit and
+    // skips the rest of the line
+    private String readLine(BufferedReader reader, StringBuilder buffer, long lineNumber) throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (buffer.length() == maxRecordLength) {
+                while (c != -1 && c != '\n') {
+                    c = reader.read();
+                }
+                throw new RecordTooLongException(lineNumber, "Line " + lineNumber + " is longer than "
+                        + maxRecordLength + " characters");
+            }
+            buffer.append((char) c);
+        }
+        if (c == -1 && buffer.length() == 0) {
+            return null;
+        }
+        int end = buffer.length();
+        return end > 0 && buffer.charAt(end - 1) == '\r' ? buffer.substring(0, end - 1) : buffer.toString();
+    }
+
+    private static String normalizeKey(String key) {
+        return key.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private interface RowWriter {
+        DataChangedEvent.Kind kind();
+
+        Object[] toRow(Map<String, String> values);
+
+        /** Rejects and removes rows that would break a unique or foreign key, before the batch is written. */
+        default void rejectConflicts(ImportJob job, List<Object[]> batch, List<Long> rowNumbers) {
+        }
+
+        void write(List<Object[]> batch);
+    }
+
+    private RowWriter writerFor(String type) {
+        switch (type) {
+            case "orders":
+                return new OrderWriter();
+            case "products":
+                return new ProductWriter();
+            case "customers":
+                return new CustomerWriter();
+            default:
+                throw new IllegalArgumentException("Unknown import type " + type);
+        }
+    }
+
+    private class OrderWriter implements RowWriter {
+        @Override
+        public DataChangedEvent.Kind kind() {
+            return DataChangedEvent.Kind.ORDER;
+        }
+
+        // Columns: orderId (generated when blank), customer, customerId (links the order to that customer),
+        // location, amount, status, date
+        @Override
+        public Object[] toRow(Map<String, String> values) {
+            String customer = required(values, "customer", 255);
+            String amount = required(values, "amount", 50);
+            String date = optional(values, "date", 50);
+            LocalDate orderDate = Order.parseDate(date);
+            if (date != null && orderDate == null) {
+                throw new IllegalArgumentException("date must be yyyy-MM-dd: " + date);
+            }
+            String orderId = optional(values, "orderid", 50);
+            String status = optional(values, "status", 50);
+            return new Object[] { orderId != null ? orderId : orderService.generateOrderId(), customer,
+                    optional(values, "location", 255), amount, MoneyCodec.parseMinorUnits(amount),
+                    MoneyCodec.currencyCode(amount), status != null ? status : "Pending", date,
+                    orderDate != null ? Date.valueOf(orderDate) : null, id(values, "customerid") };
+        }
+
+        @Override
+        public void rejectConflicts(ImportJob job, List<Object[]> batch, List<Long> rowNumbers) {
+            Set<String> orderIds = new HashSet<>();
+            Set<Long> customerIds = new HashSet<>();
+            for (Object[] row : batch) {
+                orderIds.add((String) row[0]);
+                if (row[9] != null) {
+                    customerIds.add((Long) row[9]);
+                }
+            }
+            Set<String> taken = new HashSet<>(existing("SELECT order_id FROM customer_orders WHERE order_id IN ",
+                    orderIds, String.class));
+            Set<Long> known = new HashSet<>(existing("SELECT id FROM customer WHERE id IN ", customerIds, Long.class));
+
+            Set<String> seen = new HashSet<>();
+            List<Object[]> kept = new ArrayList<>(batch.size());
+            List<Long> keptRows = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                Object[] row = batch.get(i);
+                String orderId = (String) row[0];
+                if (taken.contains(orderId) || !seen.add(orderId)) {
+                    job.reject(rowNumbers.get(i), "orderId already exists: " + orderId);
+                } else if (row[9] != null && !known.contains(row[9])) {
+                    job.reject(rowNumbers.get(i), "customerId does not exist: " + row[9]);
+                } else {
+                    kept.add(row);
+                    keptRows.add(rowNumbers.get(i));
+                }
+            }
+            batch.clear();
+            batch.addAll(kept);
+            rowNumbers.clear();
+            rowNumbers.addAll(keptRows);
+        }
+
+        @Override
+        public void write(List<Object[]> batch) {
+            jdbcTemplate.batchUpdate("INSERT INTO customer_orders (order_id, customer, location, amount, amount_minor, "
+                    + "currency, status, date, order_date, customer_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+            long revenue = 0;
+            Map<LocalDate, long[]> byDay = new HashMap<>();
+            Map<Long, long[]> byCustomer = new TreeMap<>();
+            for (Object[] row : batch) {
+                long amountMinor = (Long) row[4];
+                revenue += amountMinor;
+                if (row[8] != null) {
+                    long[] totals = byDay.computeIfAbsent(((Date) row[8]).toLocalDate(), d -> new long[2]);
+                    totals[0]++;
+                    totals[1] += amountMinor;
+                }
+                if (row[9] != null) {
+                    long[] totals = byCustomer.computeIfAbsent((Long) row[9], c -> new long[2]);
+                    totals[0]++;
+                    totals[1] += amountMinor;
+                }
+            }
+            orderAggregateService.recordBulkCreated(batch.size(), revenue);
+            orderRollupService.recordBulkCreated(byDay);
+            customerOrderStatsService.recordBulkCreated(byCustomer);
+        }
+    }
+
+    private class ProductWriter implements RowWriter {
+        @Override
+        public DataChangedEvent.Kind kind() {
+            return DataChangedEvent.Kind.PRODUCT;
+        }
+
+        @Override
+        public Object[] toRow(Map<String, String> values) {
+            String price = required(values, "price", 50);
+            String status = optional(values, "status", 50);
+            return new Object[] { required(values, "name", 255), optional(values, "category", 255), price,
+                    MoneyCodec.parseMinorUnits(price), MoneyCodec.currencyCode(price),
+                    integer(values, "stock"), status != null ? status : "In Stock" };
+        }
+
+        @Override
+        public void write(List<Object[]> batch) {
+            jdbcTemplate.batchUpdate("INSERT INTO product (name, category, price, price_minor, currency, stock, status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        }
+    }
+
+    private class CustomerWriter implements RowWriter {
+        @Override
+        public DataChangedEvent.Kind kind() {
+            return DataChangedEvent.Kind.CUSTOMER;
+        }
+
+        @Override
+        public Object[] toRow(Map<String, String> values) {
+            String email = optional(values, "email", 255);
+            if (email != null && email.indexOf('@') < 1) {
+                throw new IllegalArgumentException("email is not valid: " + email);
+            }
+            String status = optional(values, "status", 255);
+            return new Object[] { required(values, "name", 255), email, optional(values, "phone", 255),
+                    optional(values, "location", 255), status != null ? status : "Active" };
+        }
+
+        @Override
+        public void write(List<Object[]> batch) {
+            // orders and lifetime_value_minor start at zero and follow the customer's linked orders
+            jdbcTemplate.batchUpdate("INSERT INTO customer (name, email, phone, location, status, orders, "
+                    + "lifetime_value_minor) VALUES (?, ?, ?, ?, ?, 0, 0)", batch);
+        }
+    }
+
+    // Lengths match the column definitions, so an over-long value is a row error rather than a failed batch
+    private static String optional(Map<String, String> values, String key, int maxLength) {
+        String value = values.get(key);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(key + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static String required(Map<String, String> values, String key, int maxLength) {
+        String value = optional(values, key, maxLength);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " is required");
+        }
+        return value;
+    }
+
+    private static Long id(Map<String, String> values, String key) {
+        String value = optional(values, key, 20);
+        if (value == null) {
+            return null;
+        }
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed <= 0) {
+                throw new IllegalArgumentException(key + " must be positive");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number: " + value);
+        }
+    }
+
+    private <T> List<T> existing(String sqlPrefix, Set<T> keys, Class<T> type) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        return jdbcTemplate.queryForList(sqlPrefix + "(" + placeholders + ")", type, keys.toArray());
+    }
+
+    private static int integer(Map<String, String> values, String key) {
+        String value = optional(values, key, 11);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException(key + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number: " + value);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.CustomerOrderTotals;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Keeps each customer's order count and lifetime value in step with their orders. {@link OrderService}
+ * applies a delta on every order write; a periodic recount from {@code customer_orders} repairs
+ * drift from rows written outside the service.
+ */
+@Service
+public class CustomerOrderStatsService {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Transactional
+    public void recordCreated(Order order) {
+        if (order.getCustomerId() != null) {
+            applyDelta(order.getCustomerId(), 1, OrderAggregateService.amountOf(order));
+        }
+    }
+
+    /** Applies per-customer {count, revenueMinor} totals of a batch of newly inserted orders. */
+    @Transactional
+    public void recordBulkCreated(Map<Long, long[]> totalsByCustomer) {
+        // Ascending ids, like every other transaction that locks several customers
+        new TreeMap<>(totalsByCustomer)
+                .forEach((customerId, totals) -> applyDelta(customerId, (int) totals[0], totals[1]));
+    }
+
+    @Transactional
+    public void recordUpdated(Long previousCustomerId, long previousAmountMinor, Order order) {
+        long amount = OrderAggregateService.amountOf(order);
+        if (Objects.equals(previousCustomerId, order.getCustomerId())) {
+            if (previousCustomerId != null && amount != previousAmountMinor) {
+                applyDelta(previousCustomerId, 0, amount - previousAmountMinor);
+            }
+            return;
+        }
+        // The lower id is locked first, so two orders moving between the same customers cannot deadlock
+        Long customerId = order.getCustomerId();
+        if (previousCustomerId != null && customerId != null && customerId < previousCustomerId) {
+            recordCreated(order);
+            applyDelta(previousCustomerId, -1, -previousAmountMinor);
+            return;
+        }
+        if (previousCustomerId != null) {
+            applyDelta(previousCustomerId, -1, -previousAmountMinor);
+        }
+        recordCreated(order);
+    }
+
+    @Transactional
+    public void recordDeleted(Order order) {
+        if (order.getCustomerId() != null) {
+            applyDelta(order.getCustomerId(), -1, -OrderAggregateService.amountOf(order));
+        }
+    }
+
+    // Also replaces the hand-entered counts customers had before orders were linked to them; runs after
+    // the numeric column backfill so every amount is counted. Only customers that drifted are rewritten.
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(1)
+    @Scheduled(fixedDelayString = "${dashboard.aggregates.reconcile-interval-ms:3600000}",
+            initialDelayString = "${dashboard.aggregates.reconcile-interval-ms:3600000}")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void reconcile() {
+        for (Long id : customerRepository.findIdsWithOrderStatsDrift()) {
+            // Recounted under the row lock (READ COMMITTED, so orders committed since the scan count) so an
+            // order write racing the scan is not overwritten
+            customerRepository.findForUpdate(id).ifPresent(customer -> {
+                CustomerOrderTotals totals = customerRepository.sumOrders(id);
+                customer.setOrderStats((int) totals.getOrders(), totals.getLifetimeValueMinor());
+            });
+        }
+    }
+
+    private void applyDelta(Long customerId, int countDelta, long valueDelta) {
+        customerRepository.findForUpdate(customerId)
+                .ifPresent(customer -> customer.applyOrderDelta(countDelta, valueDelta));
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.entity.CursorPage;
 import com.example.ecommerce.entity.Customer;
+import com.example.ecommerce.entity.CustomerDetail;
+import com.example.ecommerce.entity.IdName;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderFilter;
 import com.example.ecommerce.repository.CustomerRepository;
-import jakarta.annotation.PostConstruct;
+import com.example.ecommerce.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
 import java.util.List;
 
 @Service
@@ -15,40 +25,73 @@ public class CustomerService {
     @Autowired
     private CustomerRepository customerRepository;
 
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    public Page<Customer> searchCustomers(String query, boolean contains, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return customerRepository.findAll(pageable);
+        }
+        String term = query.trim();
+        return contains
+                ? customerRepository.findByNameContainingOrEmailContaining(term, term, pageable)
+                : customerRepository.findByNameStartingWithOrEmailStartingWith(term, term, pageable);
+    }
+
+    public CustomerDetail getCustomerDetail(Long id, int size) {
+        Customer customer = customerRepository.findById(id).orElseThrow(() -> new RuntimeException("Customer not found"));
+        return new CustomerDetail(customer, getCustomerOrders(id, null, size));
+    }
+
+    // Keyset walk of idx_customer_orders_customer_id (customer_id, id), newest order first
+    public CursorPage<Order> getCustomerOrders(Long id, String cursor, int size) {
+        OrderFilter filter = new OrderFilter();
+        filter.setCustomerId(id);
+        return orderService.getOrderPage(filter, "id", "desc", cursor, size);
+    }
+
+    public List<IdName> typeahead(String prefix, int limit) {
+        return customerRepository.findByNameStartingWithOrderByName(prefix == null ? "" : prefix.trim(),
+                PageRequest.of(0, limit));
     }
 
     public Customer saveCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.CUSTOMER,
+                DataChangedEvent.Action.CREATED, saved.getId(), saved));
+        return saved;
     }
 
+    // Read under the row lock: the cache entry this write leaves behind then has current order stats
+    @Transactional
     public Customer updateCustomer(Long id, Customer customerDetails) {
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerRepository.findForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
+        if (customerDetails.getVersion() != null && !customerDetails.getVersion().equals(customer.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Customer.class, id);
+        }
         customer.setName(customerDetails.getName());
         customer.setEmail(customerDetails.getEmail());
         customer.setPhone(customerDetails.getPhone());
         customer.setLocation(customerDetails.getLocation());
-        customer.setOrders(customerDetails.getOrders());
         customer.setStatus(customerDetails.getStatus());
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.CUSTOMER,
+                DataChangedEvent.Action.UPDATED, saved.getId(), saved));
+        return saved;
     }
 
+    @Transactional
     public void deleteCustomer(Long id) {
+        orderRepository.detachCustomer(id);
         customerRepository.deleteById(id);
-    }
-
-    @PostConstruct
-    public void initData() {
-        if (customerRepository.count() == 0) {
-            List<Customer> customers = Arrays.asList(
-                    new Customer("Alice Johnson", "alice@example.com", "123-456-7890", "New York, USA", 5, "Active"),
-                    new Customer("Bob Smith", "bob@example.com", "987-654-3210", "London, UK", 2, "Inactive"),
-                    new Customer("Charlie Brown", "charlie@example.com", "456-789-0123", "Paris, France", 8, "Active"),
-                    new Customer("Diana Prince", "diana@dc.com", "111-222-3333", "Themyscira", 12, "Active"),
-                    new Customer("Evan Wright", "evan@example.com", "555-666-7777", "Berlin, Germany", 1, "Pending"));
-            customerRepository.saveAll(customers);
-        }
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.CUSTOMER,
+                DataChangedEvent.Action.DELETED, id, null));
     }
 }
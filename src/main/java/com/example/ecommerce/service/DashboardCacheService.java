@@ -0,0 +1,116 @@
+package com.example.ecommerce.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evicts cached dashboard results after a write commits and versions the dashboard data so
+ * controllers can answer conditional requests without recomputing anything. Also the key
+ * generator of the dashboard caches: every key carries its cache's generation, so a result loaded
+ * before an eviction is stored where no later lookup finds it instead of outliving the write.
+ */
+@Service(DashboardCacheService.KEY_GENERATOR)
+public class DashboardCacheService implements KeyGenerator {
+
+    public static final String KEY_GENERATOR = "dashboardCacheService";
+
+    public static final String STATS = "dashboardStats";
+    public static final String TOP_CITIES = "topCities";
+    public static final String ANALYTICS = "analytics";
+    public static final String RECENT_ORDERS = "recentOrders";
+
+    private static final List<String> ALL = List.of(STATS, TOP_CITIES, ANALYTICS, RECENT_ORDERS);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Seeded from the clock so ETags issued before a restart are not mistaken for current ones
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public DashboardCacheService() {
+        ALL.forEach(name -> generations.put(name, new AtomicLong()));
+    }
+
+    /**
+     * The generation is read before the cached method runs, so a load racing a write is keyed by
+     * the generation the write then retires, whatever order its put and the eviction land in.
+     */
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+        String name = cacheable.cacheNames()[0];
+        return new SimpleKey(generations.get(name).get(), SimpleKeyGenerator.generateKey(params));
+    }
+
+    // fallbackExecution covers writers that run outside a transaction; runs before the live feed reads
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onDataChanged(DataChangedEvent event) {
+        switch (event.getKind()) {
+            case ORDER:
+                evict(STATS, TOP_CITIES, ANALYTICS, RECENT_ORDERS);
+                break;
+            case CUSTOMER:
+                evict(STATS);
+                break;
+            default:
+                evict(ANALYTICS);
+        }
+        version.incrementAndGet();
+    }
+
+    public String etag() {
+        return "\"dash-" + version.get() + "\"";
+    }
+
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String name : ALL) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache)
+                        .getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("size", nativeCache.estimatedSize());
+                entry.put("hits", stats.hitCount());
+                entry.put("misses", stats.missCount());
+                entry.put("hitRatio", stats.hitRate());
+                entry.put("evictions", stats.evictionCount());
+                result.put(name, entry);
+            }
+        }
+        return result;
+    }
+
+    private void evict(String... names) {
+        for (String name : names) {
+            generations.get(name).incrementAndGet();
+            // Entries of the retired generation are unreachable now; clearing just frees them
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Customer;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live dashboard feed over Server-Sent Events. Committed writes are turned into compact deltas
+ * (the changed row, the new KPI values, top-city ranks when they move), serialized once and
+ * queued to every subscriber. KPI and top-city values are recomputed on the feed's own threads,
+ * at most once per refresh interval however many writes commit in between. Each subscriber has a
+ * bounded buffer drained by a shared pool; a client that falls a full buffer behind, or whose
+ * write blocks past the write timeout, is disconnected and resyncs on reconnect.
+ */
+@Service
+public class DashboardFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardFeedService.class);
+
+    private static final class FeedEvent {
+        final String name;
+        final String json;
+
+        FeedEvent(String name, String json) {
+            this.name = name;
+            this.json = json;
+        }
+    }
+
+    // Heartbeats carry no data; they only keep proxies from closing idle connections
+    private static final FeedEvent HEARTBEAT = new FeedEvent(null, null);
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<FeedEvent> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Set once dropped; the emitter is completed by the drain, never while a send holds its lock
+        volatile boolean closed;
+        // When the send in progress started, 0 between sends
+        volatile long sendStartedNanos;
+        // Written only by dropStalledWriters
+        boolean stalled;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dashboard.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${dashboard.stream.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledThreadPoolExecutor dispatcher;
+    private final long refreshIntervalNanos;
+    private final long writeTimeoutNanos;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final AtomicBoolean kpiStale = new AtomicBoolean();
+    private final AtomicBoolean topCitiesStale = new AtomicBoolean();
+    private volatile long lastRefreshNanos;
+    private volatile String lastTopCities;
+
+    public DashboardFeedService(@Value("${dashboard.stream.dispatch-threads:4}") int threads,
+            @Value("${dashboard.stream.refresh-interval-ms:500}") long refreshIntervalMs,
+            @Value("${dashboard.stream.write-timeout-ms:5000}") long writeTimeoutMs) {
+        refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMs);
+        writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        lastRefreshNanos = System.nanoTime() - refreshIntervalNanos;
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatcher = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::drop);
+        dispatcher.shutdown();
+    }
+
+    /** Returns null when the subscriber limit is reached. */
+    public SseEmitter subscribe() {
+        // Reserve the slot first, so concurrent subscribes cannot all pass the check
+        int count;
+        do {
+            count = subscriberCount.get();
+            if (count >= maxSubscribers) {
+                return null;
+            }
+        } while (!subscriberCount.compareAndSet(count, count + 1));
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Start every client from the current values so subsequent deltas apply cleanly
+        String topCities = toJson(dashboardService.getTopCities(5));
+        lastTopCities = topCities;
+        enqueue(subscriber, new FeedEvent("kpi", toJson(dashboardService.getStats())));
+        enqueue(subscriber, new FeedEvent("top-cities", topCities));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Ordered after DashboardCacheService so the KPI and city reads see fresh values. Only the row
+    // delta is built on the committing thread; the aggregates are marked stale for the next refresh.
+    @TransactionalEventListener(fallbackExecution = true)
+    @org.springframework.core.annotation.Order(1)
+    public void onDataChanged(DataChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (event.getAction() != null) {
+            broadcast(List.of(new FeedEvent(event.getKind().name().toLowerCase(), toJson(delta(event)))));
+        }
+        if (event.getKind() == DataChangedEvent.Kind.PRODUCT) {
+            return;
+        }
+        if (event.getKind() == DataChangedEvent.Kind.ORDER) {
+            topCitiesStale.set(true);
+        }
+        kpiStale.set(true);
+        scheduleRefresh();
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            long delay = Math.max(0, lastRefreshNanos + refreshIntervalNanos - System.nanoTime());
+            dispatcher.schedule(this::refresh, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void refresh() {
+        // Released before reading, so a write committed during the reads schedules another pass
+        refreshScheduled.set(false);
+        lastRefreshNanos = System.nanoTime();
+        try {
+            List<FeedEvent> events = new ArrayList<>(2);
+            if (kpiStale.getAndSet(false)) {
+                events.add(new FeedEvent("kpi", toJson(dashboardService.getStats())));
+            }
+            if (topCitiesStale.getAndSet(false)) {
+                String topCities = toJson(dashboardService.getTopCities(5));
+                if (!topCities.equals(lastTopCities)) {
+                    lastTopCities = topCities;
+                    events.add(new FeedEvent("top-cities", topCities));
+                }
+            }
+            broadcast(events);
+        } catch (RuntimeException e) {
+            log.warn("Dashboard feed refresh failed", e);
+        }
+    }
+
+    private void broadcast(List<FeedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            for (FeedEvent feedEvent : events) {
+                if (!enqueue(subscriber, feedEvent)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT));
+    }
+
+    private static Map<String, Object> delta(DataChangedEvent event) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("action", event.getAction().name().toLowerCase());
+        delta.put("id", event.getId());
+        Object entity = event.getEntity();
+        if (entity instanceof Order) {
+            Order order = (Order) entity;
+            delta.put("orderId", order.getOrderId());
+            delta.put("customer", order.getCustomer());
+            delta.put("location", order.getLocation());
+            delta.put("amount", order.getAmount());
+            delta.put("status", order.getStatus());
+            delta.put("date", order.getDate());
+        } else if (entity instanceof Customer) {
+            Customer customer = (Customer) entity;
+            delta.put("name", customer.getName());
+            delta.put("status", customer.getStatus());
+        } else if (entity instanceof Product) {
+            Product product = (Product) entity;
+            delta.put("name", product.getName());
+            delta.put("stock", product.getStock());
+            delta.put("status", product.getStatus());
+        }
+        return delta;
+    }
+
+    private boolean enqueue(Subscriber subscriber, FeedEvent event) {
+        if (!subscriber.buffer.offer(event)) {
+            log.debug("Dropping slow dashboard subscriber ({} events buffered)", subscriber.buffer.size());
+            drop(subscriber);
+            return false;
+        }
+        scheduleDrain(subscriber);
+        return true;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedEvent event;
+            while (!subscriber.closed && (event = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                if (event == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(event.name).data(event.json,
+                            MediaType.APPLICATION_JSON));
+                }
+                subscriber.sendStartedNanos = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+            subscriber.draining.set(false);
+        }
+        if (subscriber.closed) {
+            subscriber.emitter.complete();
+            return;
+        }
+        // An event may have arrived between the last poll and releasing the flag
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // A send blocks its pool thread until the client reads or the connector's socket write timeout
+    // fires. Past the write timeout the client is dropped and the pool grows by a thread for as long
+    // as the send stays stuck, so the other subscribers keep being served. Runs on the scheduler
+    // rather than the pool, which may have no free thread by then.
+    @Scheduled(fixedDelay = 1000)
+    public void dropStalledWriters() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > writeTimeoutNanos && !subscriber.stalled) {
+                log.debug("Dropping dashboard subscriber whose write has blocked for {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(now - started));
+                subscriber.stalled = true;
+                dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + 1);
+                drop(subscriber);
+                dispatcher.execute(() -> awaitStalledWrite(subscriber));
+            }
+        }
+    }
+
+    private void awaitStalledWrite(Subscriber subscriber) {
+        if (subscriber.draining.get()) {
+            dispatcher.schedule(() -> awaitStalledWrite(subscriber), writeTimeoutNanos / 4, TimeUnit.NANOSECONDS);
+            return;
+        }
+        dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() - 1);
+    }
+
+    // Safe from any thread: completing the emitter is left to its drain, which owns the emitter's lock
+    private void drop(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (remove(subscriber)) {
+            subscriber.buffer.clear();
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
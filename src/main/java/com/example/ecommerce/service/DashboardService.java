@@ -1,22 +1,40 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.entity.AnalyticsData;
 import com.example.ecommerce.entity.DashboardStats;
+import com.example.ecommerce.entity.DashboardSummary;
+import com.example.ecommerce.entity.Granularity;
 import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderAggregate;
 import com.example.ecommerce.entity.TopCity;
-import com.example.ecommerce.entity.UserInfo;
 import com.example.ecommerce.repository.CustomerRepository;
 import com.example.ecommerce.repository.OrderRepository;
-import com.example.ecommerce.repository.UserInfoRepository;
+import com.example.ecommerce.util.MoneyCodec;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -24,30 +42,84 @@ public class DashboardService {
     private CustomerRepository customerRepository;
 
     @Autowired
-    private UserInfoRepository userInfoRepository;
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private OrderRollupService orderRollupService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private OrderService orderService;
+
+    // Sections are loaded through the proxy so they are served from (and fill) the dashboard caches
+    @Lazy
+    @Autowired
+    private DashboardService self;
+
+    @Value("${dashboard.summary.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    private final ThreadPoolExecutor summaryExecutor;
+
+    public DashboardService(@Value("${dashboard.summary.threads:6}") int threads,
+            @Value("${dashboard.summary.queue-capacity:60}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        // A full queue runs the section on the request thread, which is just the sequential path again
+        summaryExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-summary-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        summaryExecutor.shutdownNow();
+    }
+
+    /**
+     * Stats, recent orders and top cities loaded concurrently, so the response takes as long as the
+     * slowest section. A section that fails or misses its timeout is left null and listed as
+     * unavailable; it keeps running and fills its cache for the next request.
+     */
+    public DashboardSummary getSummary(int recentLimit, int cityLimit) {
+        CompletableFuture<DashboardStats> stats = section("stats", () -> self.getStats());
+        CompletableFuture<List<Order>> recentOrders = section("recentOrders",
+                () -> orderService.getRecentOrders(recentLimit));
+        CompletableFuture<List<TopCity>> topCities = section("topCities", () -> self.getTopCities(cityLimit));
+        return CompletableFuture.allOf(stats, recentOrders, topCities)
+                .thenApply(done -> {
+                    // Sections never load null, so null means it timed out or failed
+                    List<String> unavailable = new ArrayList<>();
+                    if (stats.join() == null) {
+                        unavailable.add("stats");
+                    }
+                    if (recentOrders.join() == null) {
+                        unavailable.add("recentOrders");
+                    }
+                    if (topCities.join() == null) {
+                        unavailable.add("topCities");
+                    }
+                    return new DashboardSummary(stats.join(), recentOrders.join(), topCities.join(), unavailable);
+                })
+                .join();
+    }
+
+    private <T> CompletableFuture<T> section(String name, Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(loader, summaryExecutor)
+                .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Dashboard summary section {} unavailable: {}", name, e.toString());
+                    return null;
+                });
+    }
+
+    @Cacheable(cacheNames = DashboardCacheService.STATS, keyGenerator = DashboardCacheService.KEY_GENERATOR)
     public DashboardStats getStats() {
-        List<Order> orders = orderRepository.findAll();
+        // Running totals are maintained by OrderService writes, so no order scan is needed here
+        OrderAggregate totals = orderAggregateService.getTotals();
         long customerCount = customerRepository.count();
-        long orderCount = orders.size();
-
-        double totalRevenue = 0;
-        for (Order order : orders) {
-            if (order.getAmount() != null) {
-                // Robust parsing: Remove all non-numeric characters except dot
-                String amountStr = order.getAmount().replaceAll("[^\\d.]", "");
-                if (!amountStr.isEmpty()) {
-                    try {
-                        totalRevenue += Double.parseDouble(amountStr);
-                    } catch (NumberFormatException e) {
-                        // ignore malformed amounts
-                    }
-                }
-            }
-        }
+        long orderCount = totals.getOrderCount();
 
         DashboardStats stats = new DashboardStats();
         // we return raw numbers or formatted strings? The frontend expects strings with
@@ -62,7 +134,7 @@ public class DashboardService {
         // Or better, send generic "$ " and frontend replaces it.
         // The frontend `formatValue` replaces `[₹$€£¥]` so sending `₹` is fine.
 
-        stats.setRevenue(String.format("₹ %.2f", totalRevenue));
+        stats.setRevenue(MoneyCodec.format(totals.getRevenueMinor(), MoneyCodec.DEFAULT_CURRENCY));
         stats.setOrders(String.valueOf(orderCount));
         stats.setCustomers(String.valueOf(customerCount));
 
@@ -76,59 +148,23 @@ public class DashboardService {
         return stats;
     }
 
-    public List<TopCity> getTopCities() {
-        List<Order> orders = orderRepository.findAll();
-        if (orders.isEmpty())
+    @Cacheable(cacheNames = DashboardCacheService.TOP_CITIES, keyGenerator = DashboardCacheService.KEY_GENERATOR)
+    public List<TopCity> getTopCities(int limit) {
+        long totalOrders = orderAggregateService.getTotals().getOrderCount();
+        if (totalOrders == 0)
             return new ArrayList<>();
 
-        Map<String, Long> cityCounts = orders.stream()
-                .filter(o -> o.getLocation() != null && !o.getLocation().isEmpty())
-                .collect(Collectors.groupingBy(Order::getLocation, Collectors.counting()));
-
-        long totalOrders = orders.size();
-
-        return cityCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(5)
-                .map(entry -> {
-                    long count = entry.getValue();
+        return orderRepository.findTopLocations(PageRequest.of(0, limit)).stream()
+                .map(city -> {
+                    long count = city.getOrders();
                     int percentage = (int) ((count * 100) / totalOrders);
-                    return new TopCity(entry.getKey(), (int) count, percentage + "%");
+                    return new TopCity(city.getLocation(), (int) count, percentage + "%");
                 })
                 .collect(Collectors.toList());
     }
 
-    public com.example.ecommerce.entity.AnalyticsData getAnalyticsData() {
-        // Keeping mock data for charts as implementing real time-series aggregation
-        // requires more complex SQL/Logic not requested yet.
-        List<com.example.ecommerce.entity.AnalyticsData.SalesData> salesData = List.of(
-                new com.example.ecommerce.entity.AnalyticsData.SalesData("Jan", 4000, 2400),
-                new com.example.ecommerce.entity.AnalyticsData.SalesData("Feb", 3000, 1398),
-                new com.example.ecommerce.entity.AnalyticsData.SalesData("Mar", 2000, 9800),
-                new com.example.ecommerce.entity.AnalyticsData.SalesData("Apr", 2780, 3908),
-                new com.example.ecommerce.entity.AnalyticsData.SalesData("May", 1890, 4800),
-                new com.example.ecommerce.entity.AnalyticsData.SalesData("Jun", 2390, 3800),
-                new com.example.ecommerce.entity.AnalyticsData.SalesData("Jul", 3490, 4300));
-
-        List<com.example.ecommerce.entity.AnalyticsData.CategoryData> categoryData = List.of(
-                new com.example.ecommerce.entity.AnalyticsData.CategoryData("Electronics", 400),
-                new com.example.ecommerce.entity.AnalyticsData.CategoryData("Clothing", 300),
-                new com.example.ecommerce.entity.AnalyticsData.CategoryData("Groceries", 300),
-                new com.example.ecommerce.entity.AnalyticsData.CategoryData("Furniture", 200));
-
-        return new com.example.ecommerce.entity.AnalyticsData(salesData, categoryData);
-    }
-
-    @jakarta.annotation.PostConstruct
-    public void initData() {
-        // Only init Admin user if missing
-        if (userInfoRepository.count() == 0) {
-            UserInfo admin = new UserInfo();
-            admin.setName("admin");
-            admin.setEmail("admin@shopkart.in");
-            admin.setPassword(passwordEncoder.encode("admin123"));
-            admin.setRoles("ROLE_ADMIN");
-            userInfoRepository.save(admin);
-        }
+    @Cacheable(cacheNames = DashboardCacheService.ANALYTICS, keyGenerator = DashboardCacheService.KEY_GENERATOR)
+    public AnalyticsData getAnalyticsData(LocalDate from, LocalDate to, Granularity granularity) {
+        return orderRollupService.getAnalytics(from, to, granularity);
     }
 }
\ No newline at end of file
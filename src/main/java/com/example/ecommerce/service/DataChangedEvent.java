@@ -0,0 +1,50 @@
+package com.example.ecommerce.service;
+
+/**
+ * Published by the service write paths whenever orders, customers or products change, so
+ * derived views (caches, live feeds) can react once the change is committed. Single-row writes
+ * carry the action and the affected entity; bulk writes and reconciliations carry neither and
+ * mean "anything of this kind may have changed".
+ */
+public class DataChangedEvent {
+
+    public enum Kind {
+        ORDER, CUSTOMER, PRODUCT
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Kind kind;
+    private final Action action;
+    private final Long id;
+    private final Object entity;
+
+    public DataChangedEvent(Kind kind) {
+        this(kind, null, null, null);
+    }
+
+    public DataChangedEvent(Kind kind, Action action, Long id, Object entity) {
+        this.kind = kind;
+        this.action = action;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Customer;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.UserInfo;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.UserInfoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sample admin account, customers, products and orders for local development, only with
+ * {@code --spring.profiles.active=demo}. Each table is filled only while it is empty. Runners
+ * finish before ApplicationReadyEvent, so the aggregate, rollup and customer-stat rebuilds that
+ * run then already include these rows.
+ */
+@Service
+@Profile("demo")
+public class DemoDataService implements ApplicationRunner {
+
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (userInfoRepository.count() == 0) {
+            userInfoRepository.save(new UserInfo("admin", "admin@shopkart.in", passwordEncoder.encode("admin123"),
+                    "ROLE_ADMIN"));
+        }
+        if (customerRepository.count() == 0) {
+            customerRepository.saveAll(List.of(
+                    new Customer("Alice Johnson", "alice@example.com", "123-456-7890", "New York, USA", "Active"),
+                    new Customer("Bob Smith", "bob@example.com", "987-654-3210", "London, UK", "Inactive"),
+                    new Customer("Charlie Brown", "charlie@example.com", "456-789-0123", "Paris, France", "Active"),
+                    new Customer("Diana Prince", "diana@dc.com", "111-222-3333", "Themyscira", "Active"),
+                    new Customer("Evan Wright", "evan@example.com", "555-666-7777", "Berlin, Germany", "Pending")));
+        }
+        if (productRepository.count() == 0) {
+            productRepository.saveAll(List.of(
+                    product("Wireless Earbuds", "Electronics", "₹ 2,499", 120, "In Stock"),
+                    product("Smart Watch", "Electronics", "₹ 3,999", 45, "Low Stock"),
+                    product("Running Shoes", "Fashion", "₹ 1,899", 80, "In Stock"),
+                    product("Leather Wallet", "Accessories", "₹ 899", 200, "In Stock"),
+                    product("Gaming Mouse", "Electronics", "₹ 1,299", 0, "Out of Stock"),
+                    product("Backpack", "Fashion", "₹ 1,499", 60, "In Stock"),
+                    product("Sunglasses", "Accessories", "₹ 999", 30, "Low Stock"),
+                    product("Bluetooth Speaker", "Electronics", "₹ 2,199", 90, "In Stock")));
+        }
+        if (orderRepository.count() == 0) {
+            List<Order> orders = List.of(
+                    new Order("ORD-001", "Alice Johnson", "New York", "₹ 1,200", "Shipped", "2023-10-25"),
+                    new Order("ORD-002", "Bob Smith", "London", "₹ 850", "Processing", "2023-10-26"),
+                    new Order("ORD-003", "Charlie Brown", "Paris", "₹ 2,100", "Delivered", "2023-10-24"),
+                    new Order("ORD-004", "Diana Prince", "Themyscira", "₹ 5,000", "Pending", "2023-10-27"),
+                    new Order("ORD-005", "Evan Wright", "Berlin", "₹ 300", "Delivered", "2023-10-23"));
+            // Link each order to the customer account of the same name, if there is one
+            Map<String, Long> customerIds = new HashMap<>();
+            customerRepository.findAll().forEach(c -> customerIds.putIfAbsent(c.getName(), c.getId()));
+            orders.forEach(o -> o.setCustomerId(customerIds.get(o.getCustomer())));
+            orderRepository.saveAll(orders);
+        }
+    }
+
+    private static Product product(String name, String category, String price, int stock, String status) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setStock(stock);
+        product.setStatus(status);
+        return product;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.config.EntityCacheConfig;
+import com.example.ecommerce.entity.Customer;
+import com.example.ecommerce.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Housekeeping for Hibernate's second-level cache. Writes through the JPA repositories keep it
+ * consistent on their own; JDBC writers (bulk imports, backfills) call {@link #evict} once
+ * committed, and hit ratios are reported alongside the dashboard caches.
+ */
+@Service
+public class EntityCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager entityCacheManager;
+
+    public void evict(DataChangedEvent.Kind kind) {
+        Class<?> type = cachedType(kind);
+        if (type == null) {
+            return;
+        }
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(type);
+        // Cached result lists may be missing rows that were inserted behind Hibernate's back
+        cache.evictDefaultQueryRegion();
+    }
+
+    /**
+     * For a single committed JDBC update: drops that row's cached entity and marks cached query
+     * results over its table stale, as Hibernate would for an entity update, leaving the rest of the
+     * region in place.
+     */
+    public void evict(DataChangedEvent.Kind kind, Long id) {
+        Class<?> type = cachedType(kind);
+        if (type == null) {
+            return;
+        }
+        SessionFactoryImplementor factory = sessionFactory().unwrap(SessionFactoryImplementor.class);
+        factory.getCache().evictEntityData(type, id);
+        String[] spaces = Arrays.stream(factory.getMappingMetamodel().getEntityDescriptor(type).getQuerySpaces())
+                .map(String::valueOf)
+                .toArray(String[]::new);
+        try (Session session = factory.openSession()) {
+            factory.getCache().getTimestampsCache()
+                    .invalidate(spaces, session.unwrap(SharedSessionContractImplementor.class));
+        }
+    }
+
+    private static Class<?> cachedType(DataChangedEvent.Kind kind) {
+        switch (kind) {
+            case PRODUCT:
+                return Product.class;
+            case CUSTOMER:
+                return Customer.class;
+            default:
+                // Orders are not cached
+                return null;
+        }
+    }
+
+    public Map<String, Map<String, Object>> getStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        result.put(EntityCacheConfig.PRODUCT_REGION, region(EntityCacheConfig.PRODUCT_REGION,
+                statistics.getDomainDataRegionStatistics(EntityCacheConfig.PRODUCT_REGION)));
+        result.put(EntityCacheConfig.CUSTOMER_REGION, region(EntityCacheConfig.CUSTOMER_REGION,
+                statistics.getDomainDataRegionStatistics(EntityCacheConfig.CUSTOMER_REGION)));
+        result.put(EntityCacheConfig.QUERY_RESULTS_REGION, region(EntityCacheConfig.QUERY_RESULTS_REGION,
+                statistics.getQueryRegionStatistics(EntityCacheConfig.QUERY_RESULTS_REGION)));
+        return result;
+    }
+
+    private Map<String, Object> region(String name, CacheRegionStatistics stats) {
+        long hits = stats != null ? stats.getHitCount() : 0;
+        long misses = stats != null ? stats.getMissCount() : 0;
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("size", estimatedSize(name));
+        entry.put("hits", hits);
+        entry.put("misses", misses);
+        entry.put("puts", stats != null ? stats.getPutCount() : 0);
+        entry.put("hitRatio", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+        return entry;
+    }
+
+    private long estimatedSize(String name) {
+        Cache<Object, Object> cache = entityCacheManager.getCache(name);
+        return cache != null ? cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize() : 0;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.ecommerce.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory record of recently used Idempotency-Key values. The first request with a key
+ * runs the action; retries, including ones that arrive while it is still running, get the same
+ * result back instead of repeating it. A failed action forgets its key so the client can retry.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final class Attempt {
+        final int fingerprint;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Attempt(int fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private final Cache<String, Attempt> attempts;
+    private final long waitMillis;
+
+    public IdempotencyService(@Value("${dashboard.idempotency.max-keys:100000}") long maxKeys,
+            @Value("${dashboard.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${dashboard.idempotency.wait-ms:10000}") long waitMillis) {
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Runs {@code action} once per {@code key}. {@code fingerprint} identifies the request payload;
+     * reusing a key for a different payload is rejected rather than answered with the old result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, int fingerprint, Supplier<T> action) {
+        Attempt attempt = new Attempt(fingerprint);
+        Attempt existing = attempts.asMap().putIfAbsent(key, attempt);
+        if (existing != null) {
+            if (existing.fingerprint != fingerprint) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different request");
+            }
+            return (T) awaitResult(existing);
+        }
+        try {
+            T result = action.get();
+            attempt.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            attempts.asMap().remove(key, attempt);
+            attempt.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public static int fingerprint(Object... values) {
+        return Objects.hash(values);
+    }
+
+    private Object awaitResult(Attempt attempt) {
+        try {
+            return attempt.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            // The original attempt failed; this retry reports the same failure
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for idempotent request", e);
+        }
+    }
+}
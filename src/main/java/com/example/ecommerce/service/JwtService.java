@@ -1,6 +1,8 @@
 package com.example.ecommerce.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -19,6 +21,13 @@ public class JwtService {
 
     public static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
 
+    // Marks a download token; such tokens never authenticate API requests
+    private static final String DOWNLOAD_CLAIM = "download";
+
+    // Decoding the secret and building the parser are done once; both are immutable and thread-safe
+    private final Key signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signKey).build();
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,21 +42,26 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the signature and expiry in a single parse. Returns null for any token that is
+     * malformed, tampered with or expired.
+     */
+    public Claims parseValidClaims(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return claims.getSubject() != null && !claims.containsKey(DOWNLOAD_CLAIM) ? claims : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        // The parser already rejects expired tokens, so one parse covers both checks
+        Claims claims = parseValidClaims(token);
+        return claims != null && claims.getSubject().equals(userDetails.getUsername());
     }
 
     public String generateToken(String userName) {
@@ -55,17 +69,37 @@ public class JwtService {
         return createToken(claims, userName);
     }
 
+    /**
+     * A signed token carrying the parameters of one download, for links the browser opens itself and
+     * so cannot send the bearer header with.
+     */
+    public String generateDownloadToken(String userName, Map<String, Object> download, long ttlMillis) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(DOWNLOAD_CLAIM, download);
+        return createToken(claims, userName, ttlMillis);
+    }
+
+    /** The parameters of a valid download token, or null if it is not one, was tampered with or expired. */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> parseDownloadToken(String token) {
+        try {
+            Object download = extractAllClaims(token).get(DOWNLOAD_CLAIM);
+            return download instanceof Map ? (Map<String, Object>) download : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private String createToken(Map<String, Object> claims, String userName) {
+        return createToken(claims, userName, 1000 * 60 * 30);
+    }
+
+    private String createToken(Map<String, Object> claims, String userName, long ttlMillis) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userName)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 30))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256).compact();
-    }
-
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(signKey, SignatureAlgorithm.HS256).compact();
     }
 }
@@ -0,0 +1,187 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.util.MoneyCodec;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves the full order, product and customer lists as JSON arrays written straight from a
+ * forward-only JDBC cursor, without loading entities into a persistence context. Objects have the
+ * same properties as the entities' JSON; {@code fields} narrows both the output and the SELECT.
+ */
+@Service
+public class ListStreamService {
+
+    private enum Kind {
+        STRING, NUMBER, MONEY
+    }
+
+    private static final class Field {
+        final String name;
+        final String column;
+        final Kind kind;
+
+        Field(String name, String column, Kind kind) {
+            this.name = name;
+            this.column = column;
+            this.kind = kind;
+        }
+    }
+
+    public static final class Listing {
+        final String table;
+        final Map<String, Field> fields = new LinkedHashMap<>();
+
+        Listing(String table, Field... fields) {
+            this.table = table;
+            for (Field field : fields) {
+                this.fields.put(field.name, field);
+            }
+        }
+    }
+
+    // Property order follows the entity getters, so the default output matches what the list views always got
+    public static final Listing ORDERS = new Listing("customer_orders",
+            new Field("id", "id", Kind.NUMBER),
+            new Field("version", "version", Kind.NUMBER),
+            new Field("orderId", "order_id", Kind.STRING),
+            new Field("customer", "customer", Kind.STRING),
+            new Field("customerId", "customer_id", Kind.NUMBER),
+            new Field("location", "location", Kind.STRING),
+            new Field("amount", "amount", Kind.STRING),
+            new Field("status", "status", Kind.STRING),
+            new Field("date", "date", Kind.STRING));
+
+    public static final Listing PRODUCTS = new Listing("product",
+            new Field("id", "id", Kind.NUMBER),
+            new Field("version", "version", Kind.NUMBER),
+            new Field("name", "name", Kind.STRING),
+            new Field("category", "category", Kind.STRING),
+            new Field("price", "price", Kind.STRING),
+            new Field("stock", "stock", Kind.NUMBER),
+            new Field("status", "status", Kind.STRING));
+
+    public static final Listing CUSTOMERS = new Listing("customer",
+            new Field("id", "id", Kind.NUMBER),
+            new Field("version", "version", Kind.NUMBER),
+            new Field("name", "name", Kind.STRING),
+            new Field("email", "email", Kind.STRING),
+            new Field("phone", "phone", Kind.STRING),
+            new Field("location", "location", Kind.STRING),
+            new Field("status", "status", Kind.STRING),
+            new Field("orders", "orders", Kind.NUMBER),
+            new Field("lifetimeValue", "lifetime_value_minor", Kind.MONEY));
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public ListStreamService(DataSource dataSource) {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // Integer.MIN_VALUE makes Connector/J stream rows one at a time instead of buffering the result set
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Resolves {@code fields} (comma-separated property names, all of them when blank) up front so an
+     * unknown name is a 400 rather than a broken stream, and returns the body that writes the array.
+     */
+    public StreamingResponseBody stream(Listing listing, String fields) {
+        Field[] selected = select(listing, fields);
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < selected.length; i++) {
+            sql.append(i > 0 ? ", " : "").append(selected[i].column);
+        }
+        sql.append(" FROM ").append(listing.table).append(" ORDER BY id");
+        String query = sql.toString();
+        return out -> write(query, selected, out);
+    }
+
+    private static Field[] select(Listing listing, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return listing.fields.values().toArray(new Field[0]);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        List<Field> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            Field field = listing.fields.get(name);
+            if (field == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field " + name + "; expected some of " + String.join(",", listing.fields.keySet()));
+            }
+            selected.add(field);
+        }
+        return selected.toArray(new Field[0]);
+    }
+
+    private void write(String query, Field[] fields, OutputStream out) throws IOException {
+        // Not closed on failure: closing would flush a neatly terminated array and pass a cut-off list as
+        // complete. Left open, an early failure is still a 500 and a late one is malformed JSON.
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        try {
+            json.writeStartArray();
+            streamingJdbcTemplate.query(query, (RowCallbackHandler) rs -> {
+                try {
+                    json.writeStartObject();
+                    for (int i = 0; i < fields.length; i++) {
+                        json.writeFieldName(fields[i].name);
+                        writeValue(json, fields[i].kind, rs, i + 1);
+                    }
+                    json.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+            json.close();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeValue(JsonGenerator json, Kind kind, ResultSet rs, int column)
+            throws IOException, SQLException {
+        switch (kind) {
+            case STRING:
+                json.writeString(rs.getString(column));
+                break;
+            case MONEY:
+                json.writeString(MoneyCodec.format(rs.getLong(column), MoneyCodec.DEFAULT_CURRENCY));
+                break;
+            default:
+                long value = rs.getLong(column);
+                if (rs.wasNull()) {
+                    json.writeNull();
+                } else {
+                    json.writeNumber(value);
+                }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.util.MoneyCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-time conversion of the legacy display strings (amount, price, date) into the numeric
+ * columns. Rows are walked in primary-key order in small batches, each committed on its own,
+ * so only the rows of the current batch are ever locked. Rows already converted are skipped,
+ * which makes the job safe to run on every startup.
+ */
+@Service
+public class NumericColumnBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(NumericColumnBackfillService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Value("${dashboard.backfill.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(0)
+    public void backfill() {
+        long orders = backfillOrders();
+        long products = backfillProducts();
+        if (products > 0) {
+            // Rows were rewritten with JDBC, so any cached copies are stale
+            entityCacheService.evict(DataChangedEvent.Kind.PRODUCT);
+        }
+        if (orders > 0 || products > 0) {
+            log.info("Backfilled numeric columns for {} orders and {} products", orders, products);
+        }
+    }
+
+    public long backfillOrders() {
+        long converted = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            List<Long> ids = jdbcTemplate.query(
+                    "SELECT id, amount, date FROM customer_orders WHERE id > ? AND amount_minor IS NULL ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> {
+                        String amount = rs.getString("amount");
+                        LocalDate orderDate = Order.parseDate(rs.getString("date"));
+                        batch.add(new Object[] { MoneyCodec.parseMinorUnits(amount), MoneyCodec.currencyCode(amount),
+                                orderDate != null ? Date.valueOf(orderDate) : null, rs.getLong("id") });
+                        return rs.getLong("id");
+                    },
+                    lastId, batchSize);
+            if (ids.isEmpty()) {
+                return converted;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE customer_orders SET amount_minor = ?, currency = ?, order_date = ? WHERE id = ?", batch));
+            converted += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    public long backfillProducts() {
+        long converted = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            List<Long> ids = jdbcTemplate.query(
+                    "SELECT id, price FROM product WHERE id > ? AND price_minor IS NULL ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> {
+                        String price = rs.getString("price");
+                        batch.add(new Object[] { MoneyCodec.parseMinorUnits(price), MoneyCodec.currencyCode(price),
+                                rs.getLong("id") });
+                        return rs.getLong("id");
+                    },
+                    lastId, batchSize);
+            if (ids.isEmpty()) {
+                return converted;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE product SET price_minor = ?, currency = ? WHERE id = ?", batch));
+            converted += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderAggregate;
+import com.example.ecommerce.entity.OrderTotals;
+import com.example.ecommerce.repository.OrderAggregateRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Running order count and revenue totals, adjusted by {@link OrderService} on every write so the
+ * dashboard never has to scan {@code customer_orders}. The totals are striped over
+ * {@code dashboard.aggregates.stripes} rows that writers pick at random and readers sum, so
+ * concurrent order transactions rarely wait on each other's row lock. A scheduled reconciliation
+ * recomputes the totals from the table to repair any drift (e.g. rows written outside the service).
+ */
+@Service
+public class OrderAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderAggregateService.class);
+
+    @Autowired
+    private OrderAggregateRepository aggregateRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${dashboard.aggregates.stripes:16}")
+    private int stripes;
+
+    @Transactional(readOnly = true)
+    public OrderAggregate getTotals() {
+        OrderTotals totals = aggregateRepository.sumStripes();
+        return new OrderAggregate(OrderAggregate.GLOBAL, totals.getOrderCount(), totals.getRevenueMinor());
+    }
+
+    @Transactional
+    public void recordCreated(Order order) {
+        applyDelta(1, amountOf(order));
+    }
+
+    @Transactional
+    public void recordBulkCreated(long count, long revenueMinor) {
+        applyDelta(count, revenueMinor);
+    }
+
+    @Transactional
+    public void recordUpdated(long previousAmountMinor, Order order) {
+        long delta = amountOf(order) - previousAmountMinor;
+        if (delta != 0) {
+            applyDelta(0, delta);
+        }
+    }
+
+    @Transactional
+    public void recordDeleted(Order order) {
+        applyDelta(-1, -amountOf(order));
+    }
+
+    private void applyDelta(long countDelta, long revenueDelta) {
+        aggregateRepository.applyDelta(OrderAggregate.GLOBAL + randomStripe(stripes), countDelta, revenueDelta);
+    }
+
+    // Runs after the numeric column backfill so the recount sees every amount
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(1)
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void initTotals() {
+        if (aggregateRepository.count() == 0) {
+            recount(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.aggregates.reconcile-interval-ms:3600000}",
+            initialDelayString = "${dashboard.aggregates.reconcile-interval-ms:3600000}")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void reconcile() {
+        recount(true);
+    }
+
+    // READ COMMITTED, so the recount sees every order committed before the stripes were locked
+    private void recount(boolean reportDrift) {
+        // Every stripe is created if missing and locked, in ascending id order, before the recount, so
+        // concurrent deltas queue behind it instead of landing in a stripe the recount then overwrites
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            aggregateRepository.applyDelta(OrderAggregate.GLOBAL + stripe, 0, 0);
+        }
+        List<OrderAggregate> locked = aggregateRepository.findAllForUpdate();
+        long count = 0;
+        long revenue = 0;
+        for (OrderAggregate stripe : locked) {
+            count += stripe.getOrderCount();
+            revenue += stripe.getRevenueMinor();
+        }
+        OrderTotals totals = orderRepository.computeTotals();
+        if (count == totals.getOrderCount() && revenue == totals.getRevenueMinor()) {
+            return;
+        }
+        if (reportDrift) {
+            log.warn("Order aggregates drifted (count {} -> {}, revenue {} -> {}), correcting",
+                    count, totals.getOrderCount(), revenue, totals.getRevenueMinor());
+        }
+        // The recount goes into the first stripe and the others restart from zero
+        for (OrderAggregate stripe : locked) {
+            boolean first = stripe == locked.get(0);
+            stripe.setOrderCount(first ? totals.getOrderCount() : 0);
+            stripe.setRevenueMinor(first ? totals.getRevenueMinor() : 0);
+        }
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.ORDER));
+    }
+
+    public static long amountOf(Order order) {
+        return order.getAmountMinor() != null ? order.getAmountMinor() : 0;
+    }
+
+    static int randomStripe(int stripes) {
+        return stripes > 1 ? ThreadLocalRandom.current().nextInt(stripes) : 0;
+    }
+}
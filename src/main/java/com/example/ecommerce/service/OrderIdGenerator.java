@@ -0,0 +1,62 @@
+package com.example.ecommerce.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style display IDs: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and a
+ * 12-bit per-millisecond sequence, rendered as a fixed-width Crockford base32 string so IDs sort in
+ * creation order. Generation is a single CAS; a burst beyond 4096 IDs in one millisecond (or a clock
+ * that steps backwards) borrows from the next millisecond instead of waiting, so IDs from one node
+ * are always strictly increasing.
+ */
+@Component
+public class OrderIdGenerator {
+
+    private static final String PREFIX = "ORD-";
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long node;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong state = new AtomicLong();
+
+    public OrderIdGenerator(@Value("${dashboard.order-id.node-id:0}") long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("dashboard.order-id.node-id must be between 0 and " + MAX_NODE);
+        }
+        this.node = node;
+    }
+
+    public long nextId() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            long candidate = now << SEQUENCE_BITS;
+            next = candidate > previous ? candidate : previous + 1;
+        } while (!state.compareAndSet(previous, next));
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    public String nextOrderId() {
+        long id = nextId();
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.AnalyticsData;
+import com.example.ecommerce.entity.DailyOrderTotals;
+import com.example.ecommerce.entity.Granularity;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderDailyRollup;
+import com.example.ecommerce.repository.OrderDailyRollupRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.util.MoneyCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Per-day order count and revenue, kept current by {@link OrderService} writes. Each day is striped
+ * like the running totals, so orders landing on the same day rarely wait on one another. Analytics
+ * queries read at most {@code dashboard.aggregates.stripes} rows per day in the requested range and
+ * fold them into week or month buckets, so chart latency does not depend on how many orders exist.
+ */
+@Service
+public class OrderRollupService {
+
+    // Bounds of the MySQL DATE type, used when the caller leaves the range open
+    private static final LocalDate EARLIEST = LocalDate.of(1000, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+
+    @Autowired
+    private OrderDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${dashboard.aggregates.stripes:16}")
+    private int stripes;
+
+    @Transactional
+    public void recordCreated(Order order) {
+        apply(order.getOrderDate(), 1, OrderAggregateService.amountOf(order));
+    }
+
+    /** Applies per-day {count, revenueMinor} totals of a batch of newly inserted orders. */
+    @Transactional
+    public void recordBulkCreated(Map<LocalDate, long[]> totalsByDay) {
+        // Days in ascending order, like every other transaction that locks several of them
+        new TreeMap<>(totalsByDay).forEach((day, totals) -> apply(day, totals[0], totals[1]));
+    }
+
+    @Transactional
+    public void recordUpdated(LocalDate previousDate, long previousAmountMinor, Order order) {
+        long amount = OrderAggregateService.amountOf(order);
+        if (previousDate != null && previousDate.equals(order.getOrderDate())) {
+            if (amount != previousAmountMinor) {
+                apply(previousDate, 0, amount - previousAmountMinor);
+            }
+            return;
+        }
+        // The earlier day is locked first, so two orders moving between the same days cannot deadlock
+        if (previousDate != null && order.getOrderDate() != null && order.getOrderDate().isBefore(previousDate)) {
+            apply(order.getOrderDate(), 1, amount);
+            apply(previousDate, -1, -previousAmountMinor);
+        } else {
+            apply(previousDate, -1, -previousAmountMinor);
+            apply(order.getOrderDate(), 1, amount);
+        }
+    }
+
+    @Transactional
+    public void recordDeleted(Order order) {
+        apply(order.getOrderDate(), -1, -OrderAggregateService.amountOf(order));
+    }
+
+    private void apply(LocalDate day, long countDelta, long revenueDelta) {
+        // Orders without a parseable date have no bucket to land in
+        if (day != null) {
+            rollupRepository.applyDelta(day, OrderAggregateService.randomStripe(stripes), countDelta, revenueDelta);
+        }
+    }
+
+    // Runs after the numeric column backfill so order_date is populated
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(1)
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void initRollups() {
+        if (rollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Compares every day's rollup with a plain (non-locking) GROUP BY over the orders and rewrites
+     * only the days that differ. Dashboard caches are invalidated only if something was corrected.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.aggregates.reconcile-interval-ms:3600000}",
+            initialDelayString = "${dashboard.aggregates.reconcile-interval-ms:3600000}")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void rebuild() {
+        Map<LocalDate, DailyOrderTotals> stored = new HashMap<>();
+        for (DailyOrderTotals day : rollupRepository.sumByDayBetween(EARLIEST, LATEST)) {
+            stored.put(day.getDay(), day);
+        }
+        // Corrected in ascending order, the order order writes lock days in
+        SortedSet<LocalDate> drifted = new TreeSet<>();
+        for (DailyOrderTotals totals : rollupRepository.sumOrdersByDay()) {
+            DailyOrderTotals rollup = stored.remove(totals.getDay());
+            if (rollup == null || rollup.getOrderCount() != totals.getOrderCount()
+                    || rollup.getRevenueMinor() != totals.getRevenueMinor()) {
+                drifted.add(totals.getDay());
+            }
+        }
+        // Whatever is left has no orders any more
+        drifted.addAll(stored.keySet());
+
+        int corrected = 0;
+        for (LocalDate day : drifted) {
+            if (correct(day)) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.ORDER));
+        }
+    }
+
+    // Every stripe of the day is created if missing and locked, in ascending order, then the day is
+    // recounted (READ COMMITTED, so it sees orders committed since the scan). An order write for the
+    // same day waits on its stripe and applies its delta on top afterwards.
+    private boolean correct(LocalDate day) {
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            rollupRepository.applyDelta(day, stripe, 0, 0);
+        }
+        List<OrderDailyRollup> locked = rollupRepository.findDayForUpdate(day);
+        long storedCount = 0;
+        long storedRevenue = 0;
+        for (OrderDailyRollup stripe : locked) {
+            storedCount += stripe.getOrderCount();
+            storedRevenue += stripe.getRevenueMinor();
+        }
+        Optional<DailyOrderTotals> totals = rollupRepository.sumOrdersOn(day);
+        long count = totals.map(DailyOrderTotals::getOrderCount).orElse(0L);
+        long revenue = totals.map(DailyOrderTotals::getRevenueMinor).orElse(0L);
+        if (count == 0) {
+            rollupRepository.deleteDay(day);
+            return storedCount != 0 || storedRevenue != 0;
+        }
+        if (storedCount == count && storedRevenue == revenue) {
+            return false;
+        }
+        // The recount goes into the first stripe and the others restart from zero
+        for (OrderDailyRollup stripe : locked) {
+            boolean first = stripe == locked.get(0);
+            stripe.setOrderCount(first ? count : 0);
+            stripe.setRevenueMinor(first ? revenue : 0);
+        }
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public AnalyticsData getAnalytics(LocalDate from, LocalDate to, Granularity granularity) {
+        List<DailyOrderTotals> days = rollupRepository.sumByDayBetween(
+                from != null ? from : EARLIEST, to != null ? to : LATEST);
+
+        // Days arrive sorted, so insertion order is chronological bucket order
+        Map<String, long[]> buckets = new LinkedHashMap<>();
+        for (DailyOrderTotals day : days) {
+            long[] totals = buckets.computeIfAbsent(bucketLabel(day.getDay(), granularity), k -> new long[2]);
+            totals[0] += day.getOrderCount();
+            totals[1] += day.getRevenueMinor();
+        }
+
+        List<AnalyticsData.SalesData> salesData = new ArrayList<>(buckets.size());
+        buckets.forEach((label, totals) -> salesData.add(new AnalyticsData.SalesData(label,
+                MoneyCodec.toMajorUnits(totals[1]).longValue(), 0, totals[0])));
+
+        List<AnalyticsData.CategoryData> categoryData = productRepository.sumStockValueByCategory().stream()
+                .map(c -> new AnalyticsData.CategoryData(c.getCategory(),
+                        MoneyCodec.toMajorUnits(c.getValueMinor()).longValue()))
+                .collect(Collectors.toList());
+
+        return new AnalyticsData(salesData, categoryData);
+    }
+
+    private static String bucketLabel(LocalDate day, Granularity granularity) {
+        switch (granularity) {
+            case DAY:
+                return day.toString();
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+            default:
+                return day.format(MONTH_LABEL);
+        }
+    }
+}
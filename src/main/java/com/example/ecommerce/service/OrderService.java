@@ -1,11 +1,24 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.entity.CursorPage;
 import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderFilter;
+import com.example.ecommerce.repository.CustomerRepository;
 import com.example.ecommerce.repository.OrderRepository;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -14,42 +27,124 @@ public class OrderService {
     @Autowired
     private OrderRepository orderRepository;
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    @Autowired
+    private OrderAggregateService orderAggregateService;
+
+    @Autowired
+    private OrderRollupService orderRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OrderIdGenerator orderIdGenerator;
+
+    @Autowired
+    private CustomerOrderStatsService customerOrderStatsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Cacheable(cacheNames = DashboardCacheService.RECENT_ORDERS, keyGenerator = DashboardCacheService.KEY_GENERATOR)
+    public List<Order> getRecentOrders(int limit) {
+        return orderRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit));
+    }
+
+    public CursorPage<Order> getOrderPage(OrderFilter filter, String sort, String direction, String cursor, int size) {
+        boolean byDate = "date".equalsIgnoreCase(sort);
+        boolean ascending = "asc".equalsIgnoreCase(direction);
+
+        LocalDate afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (byDate) {
+                    // An empty date is an undated order, which date order puts after the dated ones
+                    afterDate = key[0].isEmpty() ? null : LocalDate.parse(key[0]);
+                    afterId = Long.parseLong(key[1]);
+                } else {
+                    afterId = Long.parseLong(key[0]);
+                }
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Order> rows = orderRepository.findPage(filter, byDate, ascending, afterDate, afterId, size + 1);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Order> page = rows.subList(0, size);
+        Order last = page.get(size - 1);
+        String key = byDate ? (last.getOrderDate() != null ? last.getOrderDate() : "") + "|" + last.getId()
+                : String.valueOf(last.getId());
+        return new CursorPage<>(page,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8)));
     }
 
+    @Transactional
     public Order saveOrder(Order order) {
         if (order.getOrderId() == null || order.getOrderId().isEmpty()) {
-            order.setOrderId("ORD-" + (System.currentTimeMillis() % 10000));
+            order.setOrderId(generateOrderId());
+        }
+        requireKnownCustomer(order.getCustomerId());
+        Order saved = orderRepository.save(order);
+        orderAggregateService.recordCreated(saved);
+        orderRollupService.recordCreated(saved);
+        customerOrderStatsService.recordCreated(saved);
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.ORDER,
+                DataChangedEvent.Action.CREATED, saved.getId(), saved));
+        return saved;
+    }
+
+    public String generateOrderId() {
+        return orderIdGenerator.nextOrderId();
+    }
+
+    private void requireKnownCustomer(Long customerId) {
+        if (customerId != null && !customerRepository.existsById(customerId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown customer id " + customerId);
         }
-        return orderRepository.save(order);
     }
 
+    @Transactional
     public Order updateOrder(Long id, Order orderDetails) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + id));
+        if (orderDetails.getVersion() != null && !orderDetails.getVersion().equals(order.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Order.class, id);
+        }
+        long previousAmount = OrderAggregateService.amountOf(order);
+        LocalDate previousDate = order.getOrderDate();
+        Long previousCustomerId = order.getCustomerId();
+        requireKnownCustomer(orderDetails.getCustomerId());
         order.setCustomer(orderDetails.getCustomer());
+        order.setCustomerId(orderDetails.getCustomerId());
         order.setLocation(orderDetails.getLocation());
         order.setAmount(orderDetails.getAmount());
         order.setStatus(orderDetails.getStatus());
         order.setDate(orderDetails.getDate());
         // Do not update orderId or id
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        orderAggregateService.recordUpdated(previousAmount, saved);
+        orderRollupService.recordUpdated(previousDate, previousAmount, saved);
+        customerOrderStatsService.recordUpdated(previousCustomerId, previousAmount, saved);
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.ORDER,
+                DataChangedEvent.Action.UPDATED, saved.getId(), saved));
+        return saved;
     }
 
+    @Transactional
     public void deleteOrder(Long id) {
-        orderRepository.deleteById(id);
-    }
-
-    @PostConstruct
-    public void initData() {
-        if (orderRepository.count() == 0) {
-            orderRepository.save(new Order("ORD-001", "Alice Johnson", "New York", "₹ 1,200", "Shipped", "2023-10-25"));
-            orderRepository.save(new Order("ORD-002", "Bob Smith", "London", "₹ 850", "Processing", "2023-10-26"));
-            orderRepository.save(new Order("ORD-003", "Charlie Brown", "Paris", "₹ 2,100", "Delivered", "2023-10-24"));
-            orderRepository
-                    .save(new Order("ORD-004", "Diana Prince", "Themyscira", "₹ 5,000", "Pending", "2023-10-27"));
-            orderRepository.save(new Order("ORD-005", "Evan Wright", "Berlin", "₹ 300", "Delivered", "2023-10-23"));
-        }
+        orderRepository.findById(id).ifPresent(order -> {
+            orderRepository.delete(order);
+            orderAggregateService.recordDeleted(order);
+            orderRollupService.recordDeleted(order);
+            customerOrderStatsService.recordDeleted(order);
+            eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.ORDER,
+                    DataChangedEvent.Action.DELETED, id, null));
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,753 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.AnalyticsQuery;
+import com.example.ecommerce.entity.AnalyticsResult;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.util.MoneyCodec;
+import com.example.ecommerce.util.StringDictionary;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Column-per-field copy of {@code customer_orders} for ad-hoc slicing: status, location and
+ * customer are dictionary-encoded ints, amounts are minor units and dates are epoch days, each in a
+ * primitive array ordered by order id. Queries filter, group and sum with a fork-join scan over
+ * those arrays and never touch the database. The snapshot is loaded in parallel id slices after
+ * startup and again on {@code dashboard.analytics.reload-interval-ms}, follows committed order
+ * writes through {@link DataChangedEvent}s, and appends rows a bulk import adds past its highest id,
+ * re-reading a trailing window of {@code dashboard.analytics.catch-up-window} ids below it.
+ */
+@Service
+public class OrderSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSnapshotService.class);
+
+    private static final int LOAD_BATCH = 10_000;
+    private static final int SCAN_CHUNK = 1 << 16;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int MAX_DIMENSIONS = 2;
+    private static final int MAX_LIMIT = 1000;
+
+    public enum Dimension {
+        STATUS, LOCATION, CUSTOMER, DAY, WEEK, MONTH
+    }
+
+    public enum Sort {
+        REVENUE, ORDERS, KEY
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final int parallelism;
+    private final long catchUpWindow;
+    private final ForkJoinPool pool;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean reloadRunning = new AtomicBoolean();
+    // Guarded by lock
+    private Columns columns;
+    private boolean reloading;
+    private Instant loadedAt;
+    private final List<DataChangedEvent> pending = new ArrayList<>();
+
+    public OrderSnapshotService(@Value("${dashboard.analytics.parallelism:0}") int parallelism,
+            @Value("${dashboard.analytics.catch-up-window:5000}") long catchUpWindow) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.catchUpWindow = catchUpWindow;
+        pool = new ForkJoinPool(this.parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("order-snapshot-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // NumericColumnBackfillService (order 0) has filled amount_minor and order_date by now
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(2)
+    public void loadOnStartup() {
+        pool.execute(this::reload);
+    }
+
+    /** Replaces the snapshot with a fresh parallel load, which also drops the rows deleted since the last one. */
+    @Scheduled(fixedDelayString = "${dashboard.analytics.reload-interval-ms:3600000}",
+            initialDelayString = "${dashboard.analytics.reload-interval-ms:3600000}")
+    public void reload() {
+        if (!reloadRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lock.writeLock().lock();
+            try {
+                reloading = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            long started = System.nanoTime();
+            Columns loaded = null;
+            try {
+                loaded = load();
+                log.info("Order snapshot loaded: {} rows, {} locations, {} customers in {} ms", loaded.size,
+                        loaded.locations.size(), loaded.customers.size(), (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error("Loading the order snapshot failed; keeping the previous one", e);
+            }
+            finishReload(loaded);
+        } finally {
+            reloadRunning.set(false);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        if (event.getKind() != DataChangedEvent.Kind.ORDER) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (reloading) {
+                // Replayed against the new snapshot once it is swapped in
+                pending.add(event);
+                return;
+            }
+            if (apply(event)) {
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        catchUp();
+    }
+
+    public AnalyticsResult query(AnalyticsQuery query) {
+        List<Dimension> dimensions = dimensions(query.getGroupBy());
+        Sort sort = parse(Sort.class, query.getSort() != null ? query.getSort() : "revenue", "sort");
+        int limit = Math.max(1, Math.min(query.getLimit(), MAX_LIMIT));
+        long started = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Order snapshot is still loading");
+            }
+            Scan scan = new Scan(columns, dimensions, query);
+            Groups groups = scan.empty ? new Groups(1) : pool.invoke(new ScanTask(scan, 0, columns.size));
+            return result(groups, dimensions, sort, limit, columns.size - columns.deleted.cardinality(),
+                    System.nanoTime() - started);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            statistics.put("loaded", columns != null);
+            statistics.put("reloading", reloading);
+            statistics.put("loadedAt", loadedAt);
+            if (columns != null) {
+                statistics.put("rows", columns.size - columns.deleted.cardinality());
+                statistics.put("deletedRows", columns.deleted.cardinality());
+                statistics.put("statuses", columns.statuses.size());
+                statistics.put("locations", columns.locations.size());
+                statistics.put("customers", columns.customers.size());
+                statistics.put("columnBytes", columns.ids.length * Columns.BYTES_PER_ROW);
+            }
+            statistics.put("parallelism", parallelism);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return statistics;
+    }
+
+    private void finishReload(Columns loaded) {
+        boolean bulkPending = false;
+        lock.writeLock().lock();
+        try {
+            if (loaded != null) {
+                columns = loaded;
+                loadedAt = Instant.now();
+            }
+            reloading = false;
+            for (DataChangedEvent event : pending) {
+                bulkPending |= columns == null || !apply(event);
+            }
+            pending.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (bulkPending) {
+            catchUp();
+        }
+    }
+
+    // Caller holds the write lock; returns false for bulk events, which need a catch-up read
+    private boolean apply(DataChangedEvent event) {
+        if (event.getId() == null || (event.getEntity() == null && event.getAction() != DataChangedEvent.Action.DELETED)) {
+            return false;
+        }
+        if (columns == null) {
+            return true;
+        }
+        if (event.getAction() == DataChangedEvent.Action.DELETED) {
+            int row = columns.find(event.getId());
+            if (row >= 0) {
+                columns.deleted.set(row);
+            }
+        } else {
+            Order order = (Order) event.getEntity();
+            int row = columns.find(order.getId());
+            if (row < 0) {
+                row = columns.insertAt(-row - 1, order.getId());
+            }
+            columns.set(row, order.getStatus(), order.getLocation(), order.getCustomer(),
+                    OrderAggregateService.amountOf(order), order.getOrderDate());
+        }
+        return true;
+    }
+
+    // Bulk imports only append, but ids are taken at insert and show at commit: a batch committing late
+    // can sit below the highest id held, so the trailing window is read again and missing rows added
+    private void catchUp() {
+        long afterId;
+        lock.readLock().lock();
+        try {
+            if (columns == null || reloading) {
+                return;
+            }
+            afterId = columns.size > 0 ? Math.max(0, columns.ids[columns.size - 1] - catchUpWindow) : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+        Columns added = new Columns(16);
+        loadRange(added, afterId, Long.MAX_VALUE);
+        if (added.size == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < added.size; i++) {
+                int row = columns.find(added.ids[i]);
+                // Rows already held are either from an earlier read or a newer single-row event
+                if (row < 0) {
+                    row = columns.insertAt(-row - 1, added.ids[i]);
+                    columns.copyRow(row, added, i);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Columns load() {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS low, MAX(id) AS high FROM customer_orders");
+        if (bounds.get("high") == null) {
+            return new Columns(16);
+        }
+        long low = ((Number) bounds.get("low")).longValue();
+        long high = ((Number) bounds.get("high")).longValue();
+        long span = (high - low) / parallelism + 1;
+        List<Callable<Columns>> slices = new ArrayList<>(parallelism);
+        for (long after = low - 1; after < high; after += span) {
+            long sliceAfter = after;
+            long sliceThrough = Math.min(after + span, high);
+            slices.add(() -> {
+                Columns slice = new Columns((int) Math.min(sliceThrough - sliceAfter, LOAD_BATCH * 16L));
+                loadRange(slice, sliceAfter, sliceThrough);
+                return slice;
+            });
+        }
+        List<Columns> loaded = new ArrayList<>(slices.size());
+        try {
+            for (Future<Columns> slice : pool.invokeAll(slices)) {
+                loaded.add(slice.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the order snapshot", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Loading an order snapshot slice failed", e.getCause());
+        }
+        return Columns.concat(loaded);
+    }
+
+    // Keyset batches keep each slice's JDBC result small on both MySQL and H2
+    private void loadRange(Columns into, long afterId, long throughId) {
+        long[] last = { afterId };
+        int[] rows = new int[1];
+        do {
+            rows[0] = 0;
+            jdbcTemplate.query("SELECT id, status, location, customer, amount_minor, order_date FROM customer_orders"
+                    + " WHERE id > ? AND id <= ? ORDER BY id LIMIT " + LOAD_BATCH, (RowCallbackHandler) rs -> {
+                        long id = rs.getLong(1);
+                        Date date = rs.getDate(6);
+                        into.set(into.insertAt(into.size, id), rs.getString(2), rs.getString(3), rs.getString(4),
+                                rs.getLong(5), date != null ? date.toLocalDate() : null);
+                        last[0] = id;
+                        rows[0]++;
+                    }, last[0], throughId);
+        } while (rows[0] == LOAD_BATCH);
+    }
+
+    private static List<Dimension> dimensions(List<String> names) {
+        List<Dimension> dimensions = new ArrayList<>();
+        if (names != null) {
+            for (String name : names) {
+                if (!name.isBlank()) {
+                    dimensions.add(parse(Dimension.class, name, "groupBy"));
+                }
+            }
+        }
+        if (dimensions.size() > MAX_DIMENSIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_DIMENSIONS + " groupBy dimensions are supported");
+        }
+        return dimensions;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name, String parameter) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown " + parameter + " " + name);
+        }
+    }
+
+    // Caller holds the read lock, since labels come from the live dictionaries
+    private AnalyticsResult result(Groups groups, List<Dimension> dimensions, Sort sort, int limit, long scannedRows,
+            long elapsedNanos) {
+        List<Integer> slots = new ArrayList<>(groups.size);
+        long orders = 0;
+        long revenue = 0;
+        for (int slot = 0; slot < groups.counts.length; slot++) {
+            if (groups.counts[slot] > 0) {
+                slots.add(slot);
+                orders += groups.counts[slot];
+                revenue += groups.sums[slot];
+            }
+        }
+        Comparator<Integer> order;
+        switch (sort) {
+            case ORDERS:
+                order = Comparator.comparingLong((Integer slot) -> groups.counts[slot]).reversed();
+                break;
+            case KEY:
+                // ISO dates and months sort chronologically as strings; missing values first
+                Map<Integer, String> labels = new HashMap<>();
+                for (int slot : slots) {
+                    labels.put(slot, label(groups.keys[slot], dimensions).values().stream()
+                            .map(value -> value != null ? value : "").collect(Collectors.joining("\u0000")));
+                }
+                order = Comparator.comparing(labels::get);
+                break;
+            default:
+                order = Comparator.comparingLong((Integer slot) -> groups.sums[slot]).reversed();
+        }
+        slots.sort(order);
+
+        List<AnalyticsResult.Group> result = new ArrayList<>(Math.min(limit, slots.size()));
+        for (int slot : slots.subList(0, Math.min(limit, slots.size()))) {
+            long count = groups.counts[slot];
+            BigDecimal sum = MoneyCodec.toMajorUnits(groups.sums[slot]);
+            result.add(new AnalyticsResult.Group(label(groups.keys[slot], dimensions), count, sum,
+                    sum.divide(BigDecimal.valueOf(count), MoneyCodec.SCALE, RoundingMode.HALF_UP)));
+        }
+        return new AnalyticsResult(result, slots.size(), orders, MoneyCodec.toMajorUnits(revenue), scannedRows,
+                elapsedNanos / 1_000_000.0);
+    }
+
+    private Map<String, String> label(long key, List<Dimension> dimensions) {
+        Map<String, String> label = new LinkedHashMap<>();
+        for (int i = 0; i < dimensions.size(); i++) {
+            // Keys pack one int per dimension, the first in the high half
+            int code = dimensions.size() == 1 ? (int) key : i == 0 ? (int) (key >>> 32) : (int) key;
+            Dimension dimension = dimensions.get(i);
+            String value;
+            switch (dimension) {
+                case STATUS:
+                    value = columns.statuses.decode(code);
+                    break;
+                case LOCATION:
+                    value = columns.locations.decode(code);
+                    break;
+                case CUSTOMER:
+                    value = columns.customers.decode(code);
+                    break;
+                case MONTH:
+                    value = code == NO_DATE ? null : YearMonth.from(LocalDate.ofEpochDay(code)).toString();
+                    break;
+                default:
+                    value = code == NO_DATE ? null : LocalDate.ofEpochDay(code).toString();
+            }
+            label.put(dimension.name().toLowerCase(Locale.ROOT), value);
+        }
+        return label;
+    }
+
+    /** Parallel arrays, one slot per order, sorted by id; codes index this instance's dictionaries. */
+    private static final class Columns {
+        static final long BYTES_PER_ROW = 8 + 8 + 4 * 4;
+
+        final StringDictionary statuses = new StringDictionary();
+        final StringDictionary locations = new StringDictionary();
+        final StringDictionary customers = new StringDictionary();
+        // Rows deleted since the last load; scans skip them until the next reload drops them
+        final BitSet deleted = new BitSet();
+        long[] ids;
+        long[] amounts;
+        int[] days;
+        int[] status;
+        int[] location;
+        int[] customer;
+        int size;
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+
+        Columns(int capacity) {
+            capacity = Math.max(capacity, 16);
+            ids = new long[capacity];
+            amounts = new long[capacity];
+            days = new int[capacity];
+            status = new int[capacity];
+            location = new int[capacity];
+            customer = new int[capacity];
+        }
+
+        int find(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+
+        // Commits can land slightly out of id order, so a new row may go just before the tail
+        int insertAt(int row, long id) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                days = Arrays.copyOf(days, capacity);
+                status = Arrays.copyOf(status, capacity);
+                location = Arrays.copyOf(location, capacity);
+                customer = Arrays.copyOf(customer, capacity);
+            }
+            int tail = size - row;
+            if (tail > 0) {
+                System.arraycopy(ids, row, ids, row + 1, tail);
+                System.arraycopy(amounts, row, amounts, row + 1, tail);
+                System.arraycopy(days, row, days, row + 1, tail);
+                System.arraycopy(status, row, status, row + 1, tail);
+                System.arraycopy(location, row, location, row + 1, tail);
+                System.arraycopy(customer, row, customer, row + 1, tail);
+                for (int i = size - 1; i >= row; i--) {
+                    deleted.set(i + 1, deleted.get(i));
+                }
+                deleted.clear(row);
+            }
+            ids[row] = id;
+            size++;
+            return row;
+        }
+
+        void set(int row, String status, String location, String customer, long amount, LocalDate date) {
+            this.status[row] = statuses.encode(status);
+            this.location[row] = locations.encode(location);
+            this.customer[row] = customers.encode(customer);
+            amounts[row] = amount;
+            setDay(row, date != null ? (int) date.toEpochDay() : NO_DATE);
+        }
+
+        void copyRow(int row, Columns from, int fromRow) {
+            status[row] = statuses.encode(from.statuses.decode(from.status[fromRow]));
+            location[row] = locations.encode(from.locations.decode(from.location[fromRow]));
+            customer[row] = customers.encode(from.customers.decode(from.customer[fromRow]));
+            amounts[row] = from.amounts[fromRow];
+            setDay(row, from.days[fromRow]);
+        }
+
+        private void setDay(int row, int day) {
+            days[row] = day;
+            if (day != NO_DATE) {
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+            }
+        }
+
+        // Slices cover ascending id ranges, so appending them in order keeps the ids sorted
+        static Columns concat(List<Columns> slices) {
+            int total = 0;
+            for (Columns slice : slices) {
+                total += slice.size;
+            }
+            Columns merged = new Columns(total + (total >> 3));
+            for (Columns slice : slices) {
+                int[] statusCodes = remap(slice.statuses, merged.statuses);
+                int[] locationCodes = remap(slice.locations, merged.locations);
+                int[] customerCodes = remap(slice.customers, merged.customers);
+                int at = merged.size;
+                System.arraycopy(slice.ids, 0, merged.ids, at, slice.size);
+                System.arraycopy(slice.amounts, 0, merged.amounts, at, slice.size);
+                System.arraycopy(slice.days, 0, merged.days, at, slice.size);
+                for (int i = 0; i < slice.size; i++) {
+                    merged.status[at + i] = statusCodes[slice.status[i]];
+                    merged.location[at + i] = locationCodes[slice.location[i]];
+                    merged.customer[at + i] = customerCodes[slice.customer[i]];
+                }
+                merged.size += slice.size;
+                merged.minDay = Math.min(merged.minDay, slice.minDay);
+                merged.maxDay = Math.max(merged.maxDay, slice.maxDay);
+            }
+            return merged;
+        }
+
+        private static int[] remap(StringDictionary from, StringDictionary to) {
+            int[] codes = new int[from.size()];
+            for (int code = 0; code < codes.length; code++) {
+                codes[code] = to.encode(from.decode(code));
+            }
+            return codes;
+        }
+    }
+
+    /** One query's filters resolved to dictionary codes and epoch days, shared read-only by the scan tasks. */
+    private static final class Scan {
+        final Columns columns;
+        final Dimension[] dimensions;
+        final boolean[] statusMask;
+        final boolean[] locationMask;
+        final boolean[] customerMask;
+        final boolean dateFiltered;
+        final int fromDay;
+        final int toDay;
+        // First day of the month for every day the snapshot holds, offset by minDay
+        final int[] monthStart;
+        final boolean anyDeleted;
+        final boolean empty;
+
+        Scan(Columns columns, List<Dimension> dimensions, AnalyticsQuery query) {
+            this.columns = columns;
+            this.dimensions = dimensions.toArray(new Dimension[0]);
+            statusMask = mask(columns.statuses, query.getStatus());
+            locationMask = mask(columns.locations, query.getLocation());
+            customerMask = mask(columns.customers, query.getCustomer());
+            dateFiltered = query.getFrom() != null || query.getTo() != null;
+            fromDay = query.getFrom() != null ? (int) query.getFrom().toEpochDay() : Integer.MIN_VALUE + 1;
+            toDay = query.getTo() != null ? (int) query.getTo().toEpochDay() : Integer.MAX_VALUE;
+            if (dimensions.contains(Dimension.MONTH) && columns.minDay <= columns.maxDay) {
+                monthStart = new int[columns.maxDay - columns.minDay + 1];
+                for (int i = 0; i < monthStart.length; i++) {
+                    monthStart[i] = (int) LocalDate.ofEpochDay(columns.minDay + i).withDayOfMonth(1).toEpochDay();
+                }
+            } else {
+                monthStart = null;
+            }
+            anyDeleted = !columns.deleted.isEmpty();
+            empty = columns.size == 0 || isEmpty(statusMask) || isEmpty(locationMask) || isEmpty(customerMask)
+                    || fromDay > toDay;
+        }
+
+        Groups run(int from, int to) {
+            Columns c = columns;
+            Groups groups = new Groups(64);
+            for (int row = from; row < to; row++) {
+                if ((statusMask != null && !statusMask[c.status[row]])
+                        || (locationMask != null && !locationMask[c.location[row]])
+                        || (customerMask != null && !customerMask[c.customer[row]])) {
+                    continue;
+                }
+                int day = c.days[row];
+                if (dateFiltered && (day == NO_DATE || day < fromDay || day > toDay)) {
+                    continue;
+                }
+                if (anyDeleted && c.deleted.get(row)) {
+                    continue;
+                }
+                long key;
+                if (dimensions.length == 0) {
+                    key = 0;
+                } else if (dimensions.length == 1) {
+                    key = code(dimensions[0], row, day);
+                } else {
+                    key = ((long) code(dimensions[0], row, day) << 32) | (code(dimensions[1], row, day) & 0xffffffffL);
+                }
+                groups.add(key, 1, c.amounts[row]);
+            }
+            return groups;
+        }
+
+        private int code(Dimension dimension, int row, int day) {
+            switch (dimension) {
+                case STATUS:
+                    return columns.status[row];
+                case LOCATION:
+                    return columns.location[row];
+                case CUSTOMER:
+                    return columns.customer[row];
+                case DAY:
+                    return day;
+                case WEEK:
+                    // Epoch day 0 was a Thursday; step back to that week's Monday
+                    return day == NO_DATE ? NO_DATE : day - Math.floorMod(day + 3, 7);
+                default:
+                    return day == NO_DATE ? NO_DATE : monthStart[day - columns.minDay];
+            }
+        }
+
+        // null when the filter is absent; values never seen match nothing
+        private static boolean[] mask(StringDictionary dictionary, List<String> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            boolean[] mask = new boolean[dictionary.size()];
+            for (String value : values) {
+                int code = dictionary.find(value.trim());
+                if (code >= 0) {
+                    mask[code] = true;
+                }
+            }
+            return mask;
+        }
+
+        private static boolean isEmpty(boolean[] mask) {
+            if (mask == null) {
+                return false;
+            }
+            for (boolean match : mask) {
+                if (match) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<Groups> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Groups compute() {
+            if (to - from <= SCAN_CHUNK) {
+                return scan.run(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, middle);
+            left.fork();
+            Groups right = new ScanTask(scan, middle, to).compute();
+            Groups leftGroups = left.join();
+            // Merge the smaller table into the larger one
+            if (leftGroups.size < right.size) {
+                right.addAll(leftGroups);
+                return right;
+            }
+            leftGroups.addAll(right);
+            return leftGroups;
+        }
+    }
+
+    /** Open-addressing map from a packed group key to its order count and amount sum; a zero count marks a free slot. */
+    private static final class Groups {
+        long[] keys;
+        long[] counts;
+        long[] sums;
+        int size;
+
+        Groups(int capacity) {
+            int slots = Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1);
+            keys = new long[slots];
+            counts = new long[slots];
+            sums = new long[slots];
+        }
+
+        void add(long key, long count, long sum) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (counts[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (counts[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot] += count;
+            sums[slot] += sum;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        void addAll(Groups other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.counts[slot] != 0) {
+                    add(other.keys[slot], other.counts[slot], other.sums[slot]);
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldSums = sums;
+            keys = new long[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            sums = new long[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldCounts[slot] != 0) {
+                    add(oldKeys[slot], oldCounts[slot], oldSums[slot]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
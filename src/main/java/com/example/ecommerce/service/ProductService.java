@@ -1,9 +1,19 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.entity.IdName;
 import com.example.ecommerce.entity.Product;
 import com.example.ecommerce.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -13,27 +23,96 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Value("${dashboard.inventory.low-stock-threshold:50}")
+    private int lowStockThreshold;
+
+    public Page<Product> searchProducts(String query, String category, boolean contains, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return category == null || category.isBlank()
+                    ? productRepository.findAll(pageable)
+                    : productRepository.findByCategory(category, pageable);
+        }
+        String term = query.trim();
+        return contains
+                ? productRepository.findByNameContainingOrCategoryContaining(term, term, pageable)
+                : productRepository.findByNameStartingWithOrCategoryStartingWith(term, term, pageable);
+    }
+
+    public List<IdName> typeahead(String prefix, int limit) {
+        return productRepository.findByNameStartingWithOrderByName(prefix == null ? "" : prefix.trim(),
+                PageRequest.of(0, limit));
     }
 
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.PRODUCT,
+                DataChangedEvent.Action.CREATED, saved.getId(), saved));
+        return saved;
     }
 
     public Product updateProduct(Long id, Product productDetails) {
         Product product = productRepository.findById(id).orElseThrow(() -> new RuntimeException("Product not found"));
+        if (productDetails.getVersion() != null && !productDetails.getVersion().equals(product.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, id);
+        }
         product.setName(productDetails.getName());
         product.setCategory(productDetails.getCategory());
         product.setPrice(productDetails.getPrice());
         product.setStock(productDetails.getStock());
         product.setStatus(productDetails.getStatus());
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.PRODUCT,
+                DataChangedEvent.Action.UPDATED, saved.getId(), saved));
+        return saved;
+    }
+
+    /**
+     * Takes {@code quantity} units out of stock in one conditional UPDATE that commits on its own, so
+     * the row lock lasts only for that statement and a reservation that would oversell matches no row.
+     */
+    public Product reserveStock(Long id, int quantity) {
+        return adjustStock(id, -quantity);
+    }
+
+    public Product releaseStock(Long id, int quantity) {
+        return adjustStock(id, quantity);
+    }
+
+    private Product adjustStock(Long id, int delta) {
+        // Plain JDBC, so Hibernate does not evict the whole product region as it would for a bulk UPDATE.
+        // Status is assigned before stock because MySQL evaluates SET clauses left to right.
+        int updated = jdbcTemplate.update("UPDATE product SET status = CASE WHEN stock + ? <= 0 THEN 'Out of Stock' "
+                        + "WHEN stock + ? <= ? THEN 'Low Stock' ELSE 'In Stock' END, "
+                        + "stock = stock + ?, version = version + 1 WHERE id = ? AND stock + ? >= 0",
+                delta, delta, lowStockThreshold, delta, id, delta);
+        if (updated == 0) {
+            if (!productRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock");
+        }
+        entityCacheService.evict(DataChangedEvent.Kind.PRODUCT, id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.PRODUCT,
+                DataChangedEvent.Action.UPDATED, id, product));
+        return product;
     }
 
     // Add this method to your ProductService class
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new DataChangedEvent(DataChangedEvent.Kind.PRODUCT,
+                DataChangedEvent.Action.DELETED, id, null));
     }
 
 }
\ No newline at end of file
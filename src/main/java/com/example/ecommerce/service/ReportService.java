@@ -0,0 +1,262 @@
+package com.example.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.ColumnText;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfPageEventHelper;
+import com.lowagie.text.pdf.PdfWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Exports the Reports page datasets straight from a forward-only JDBC cursor. Each row is
+ * written to the response as soon as it is read, so neither the server nor the browser ever
+ * holds the full result set.
+ */
+@Service
+public class ReportService {
+
+    public enum Format {
+        CSV, NDJSON, PDF
+    }
+
+    public static final class Report {
+        final String title;
+        final String[] columns;
+        final String[] keys;
+        final String sql;
+
+        Report(String title, String[] columns, String[] keys, String sql) {
+            this.title = title;
+            this.columns = columns;
+            this.keys = keys;
+            this.sql = sql;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    // Same columns as the browser-generated reports they replace
+    private static final Map<String, Report> REPORTS = Map.of(
+            "products", new Report("Product Inventory Report",
+                    new String[] { "ID", "Name", "Category", "Price (INR)", "Stock", "Status" },
+                    new String[] { "id", "name", "category", "price", "stock", "status" },
+                    "SELECT id, name, category, price, stock, status FROM product ORDER BY id"),
+            "orders", new Report("Order Report",
+                    new String[] { "Order ID", "Customer", "Email", "Phone", "Location", "Amount", "Date", "Status" },
+                    new String[] { "orderId", "customer", "email", "phone", "location", "amount", "date", "status" },
+                    "SELECT o.order_id, o.customer, c.email, c.phone, o.location, o.amount, o.date, o.status "
+                            + "FROM customer_orders o LEFT JOIN customer c ON c.id = o.customer_id ORDER BY o.id"),
+            "customers", new Report("Customer Report",
+                    new String[] { "ID", "Name", "Email", "Phone", "Location", "Orders", "Status" },
+                    new String[] { "id", "name", "email", "phone", "location", "orders", "status" },
+                    "SELECT id, name, email, phone, location, orders, status FROM customer ORDER BY id"));
+
+    private static final int PDF_FLUSH_ROWS = 200;
+    private static final Color HEADER_COLOR = new Color(44, 62, 80);
+    private static final DateTimeFormatter GENERATED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public ReportService(DataSource dataSource) {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // Integer.MIN_VALUE makes Connector/J stream rows one at a time instead of buffering the result set
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public Report getReport(String type) {
+        return REPORTS.get(type);
+    }
+
+    public void export(Report report, Format format, String storeName, OutputStream out) throws IOException {
+        try {
+            switch (format) {
+                case CSV:
+                    writeCsv(report, out);
+                    break;
+                case NDJSON:
+                    writeNdjson(report, out);
+                    break;
+                default:
+                    writePdf(report, storeName, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void forEachRow(Report report, RowConsumer consumer) {
+        String[] row = new String[report.columns.length];
+        streamingJdbcTemplate.query(report.sql, (RowCallbackHandler) rs -> {
+            readRow(rs, row);
+            try {
+                consumer.accept(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void readRow(ResultSet rs, String[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getString(i + 1);
+        }
+    }
+
+    private void writeCsv(Report report, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, report.columns);
+        forEachRow(report, row -> writeCsvLine(writer, row));
+        writer.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeNdjson(Report report, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            forEachRow(report, row -> {
+                json.writeStartObject();
+                for (int i = 0; i < row.length; i++) {
+                    json.writeStringField(report.keys[i], row[i]);
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writePdf(Report report, String storeName, OutputStream out) throws IOException {
+        Document document = new Document(PageSize.A4, 28, 28, 28, 40);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setPageEvent(new PageNumberFooter());
+            writer.setCloseStream(false);
+            document.open();
+
+            PdfPTable banner = new PdfPTable(2);
+            banner.setWidthPercentage(100);
+            PdfPCell store = new PdfPCell();
+            store.addElement(new Phrase(storeName, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20, Color.WHITE)));
+            store.addElement(new Phrase("Generated: " + LocalDateTime.now().format(GENERATED_AT),
+                    FontFactory.getFont(FontFactory.HELVETICA, 10, Color.LIGHT_GRAY)));
+            PdfPCell title = new PdfPCell(new Phrase(report.title,
+                    FontFactory.getFont(FontFactory.HELVETICA, 16, Color.WHITE)));
+            title.setHorizontalAlignment(Element.ALIGN_RIGHT);
+            title.setVerticalAlignment(Element.ALIGN_MIDDLE);
+            for (PdfPCell cell : new PdfPCell[] { store, title }) {
+                cell.setBackgroundColor(HEADER_COLOR);
+                cell.setBorder(Rectangle.NO_BORDER);
+                cell.setPadding(10);
+                banner.addCell(cell);
+            }
+            banner.setSpacingAfter(12);
+            document.add(banner);
+
+            Font headFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, Color.WHITE);
+            Font bodyFont = FontFactory.getFont(FontFactory.HELVETICA, 9);
+            PdfPTable table = new PdfPTable(report.columns.length);
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);
+            // An incomplete table lets finished rows be flushed to the output and released
+            table.setComplete(false);
+            for (String column : report.columns) {
+                PdfPCell cell = new PdfPCell(new Phrase(column, headFont));
+                cell.setBackgroundColor(HEADER_COLOR);
+                table.addCell(cell);
+            }
+
+            int[] pending = { 0 };
+            forEachRow(report, row -> {
+                for (String value : row) {
+                    // The standard PDF fonts have no rupee glyph
+                    table.addCell(new Phrase(value == null ? "" : value.replace("₹", "Rs."), bodyFont));
+                }
+                if (++pending[0] == PDF_FLUSH_ROWS) {
+                    try {
+                        document.add(table);
+                    } catch (DocumentException e) {
+                        throw new IOException("Failed to render " + report.title, e);
+                    }
+                    pending[0] = 0;
+                }
+            });
+            table.setComplete(true);
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IOException("Failed to render " + report.title, e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(String[] row) throws IOException;
+    }
+
+    private static class PageNumberFooter extends PdfPageEventHelper {
+        private final Font font = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.GRAY);
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            ColumnText.showTextAligned(writer.getDirectContent(), Element.ALIGN_CENTER,
+                    new Phrase("Page " + writer.getPageNumber(), font),
+                    (document.left() + document.right()) / 2, document.bottom() - 20, 0);
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Customer;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.SearchHit;
+import com.example.ecommerce.repository.CustomerRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.util.InvertedIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Global search over orders, customers and products, answered from one {@link InvertedIndex} per
+ * type. The indexes are built in parallel after startup and follow committed service writes through
+ * {@link DataChangedEvent}s. JDBC bulk imports are picked up on the index threads, by reading rows
+ * past the highest id seen, less a trailing window of {@code dashboard.search.catch-up-window} ids.
+ * Each index holds at most {@code dashboard.search.max-documents} entries: a rebuild keeps the
+ * newest three quarters of that, leaving room for new rows until the next one.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private static final int LOAD_BATCH = 10_000;
+
+    private static final class Ranked {
+        final Source source;
+        final InvertedIndex.Hit hit;
+        final int sourceOrder;
+
+        Ranked(Source source, InvertedIndex.Hit hit, int sourceOrder) {
+            this.source = source;
+            this.hit = hit;
+            this.sourceOrder = sourceOrder;
+        }
+    }
+
+    private static final class Document {
+        final long id;
+        final String[] fields;
+
+        Document(long id, String[] fields) {
+            this.id = id;
+            this.fields = fields;
+        }
+    }
+
+    private final class Source {
+        final DataChangedEvent.Kind kind;
+        final String type;
+        final String table;
+        final String columns;
+        final AtomicLong dropped = new AtomicLong();
+        volatile InvertedIndex index = new InvertedIndex(capacity);
+        // Guarded by this
+        long indexedThroughId;
+        boolean rebuilding;
+        boolean rebuildQueued;
+        // A catch-up is queued or running; catchUpAgain asks it for one more pass
+        boolean catchingUp;
+        boolean catchUpAgain;
+        final List<DataChangedEvent> pending = new ArrayList<>();
+
+        Source(DataChangedEvent.Kind kind, String type, String table, String columns) {
+            this.kind = kind;
+            this.type = type;
+            this.table = table;
+            this.columns = columns;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final int capacity;
+    private final long catchUpWindow;
+    private final Map<DataChangedEvent.Kind, Source> sources = new LinkedHashMap<>();
+    private final ExecutorService rebuilder;
+
+    public SearchService(@Value("${dashboard.search.max-documents:2000000}") int capacity,
+            @Value("${dashboard.search.catch-up-window:5000}") long catchUpWindow) {
+        this.capacity = capacity;
+        this.catchUpWindow = catchUpWindow;
+        // Ties go to customers, then products, then orders
+        sources.put(DataChangedEvent.Kind.CUSTOMER,
+                new Source(DataChangedEvent.Kind.CUSTOMER, "customer", "customer", "id, name, email, phone"));
+        sources.put(DataChangedEvent.Kind.PRODUCT,
+                new Source(DataChangedEvent.Kind.PRODUCT, "product", "product", "id, name, category"));
+        sources.put(DataChangedEvent.Kind.ORDER,
+                new Source(DataChangedEvent.Kind.ORDER, "order", "customer_orders", "id, order_id, customer, location"));
+        AtomicInteger threadCount = new AtomicInteger();
+        rebuilder = Executors.newFixedThreadPool(sources.size(), runnable -> {
+            Thread thread = new Thread(runnable, "search-index-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        sources.values().forEach(this::scheduleRebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        Source source = sources.get(event.getKind());
+        synchronized (source) {
+            if (source.rebuilding) {
+                // Replayed against the new index once it is swapped in
+                source.pending.add(event);
+                return;
+            }
+            apply(source, event);
+        }
+    }
+
+    public List<SearchHit> search(String query, Set<DataChangedEvent.Kind> kinds, int limit) {
+        List<Ranked> ranked = new ArrayList<>();
+        int sourceOrder = 0;
+        for (Source source : sources.values()) {
+            sourceOrder++;
+            if (kinds.isEmpty() || kinds.contains(source.kind)) {
+                for (InvertedIndex.Hit hit : source.index.search(query, limit)) {
+                    ranked.add(new Ranked(source, hit, sourceOrder));
+                }
+            }
+        }
+        ranked.sort(Comparator.<Ranked>comparingInt(r -> -r.hit.score).thenComparingInt(r -> r.sourceOrder));
+        if (ranked.size() > limit) {
+            ranked = ranked.subList(0, limit);
+        }
+        return hydrate(ranked);
+    }
+
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Source source : sources.values()) {
+            InvertedIndex index = source.index;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("documents", index.size());
+            entry.put("tombstones", index.tombstones());
+            entry.put("terms", index.terms());
+            entry.put("capacity", index.capacity());
+            entry.put("dropped", source.dropped.get());
+            synchronized (source) {
+                entry.put("rebuilding", source.rebuilding);
+            }
+            result.put(source.type, entry);
+        }
+        return result;
+    }
+
+    // Caller holds the source's monitor
+    private void apply(Source source, DataChangedEvent event) {
+        if (event.getAction() == DataChangedEvent.Action.DELETED && event.getId() != null) {
+            source.index.remove(event.getId());
+        } else if (event.getEntity() != null && event.getId() != null) {
+            index(source, source.index, event.getId(), fields(event.getEntity()));
+        } else {
+            // Bulk writes only announce the table; reading their rows is left to the index threads
+            scheduleCatchUp(source);
+        }
+    }
+
+    // Caller holds the source's monitor
+    private void scheduleCatchUp(Source source) {
+        if (source.catchingUp) {
+            source.catchUpAgain = true;
+            return;
+        }
+        source.catchingUp = true;
+        rebuilder.execute(() -> catchUp(source));
+    }
+
+    // Ids are taken at insert but show at commit, so a batch committing late can sit below ids already
+    // read: the trailing window is read again and only ids the index lacks are added. Rows are read
+    // outside the monitor and each batch is added under it.
+    private void catchUp(Source source) {
+        while (true) {
+            long afterId;
+            synchronized (source) {
+                source.catchUpAgain = false;
+                afterId = Math.max(0, source.indexedThroughId - catchUpWindow);
+            }
+            try {
+                load(source, afterId, batch -> {
+                    synchronized (source) {
+                        InvertedIndex index = source.index;
+                        for (Document document : batch) {
+                            // Re-putting an unchanged row would only leave a tombstone behind
+                            if (!index.contains(document.id)) {
+                                index(source, index, document.id, document.fields);
+                            }
+                        }
+                        source.indexedThroughId = Math.max(source.indexedThroughId, batch.get(batch.size() - 1).id);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Catching the {} search index up on bulk writes failed", source.type, e);
+                synchronized (source) {
+                    source.catchingUp = false;
+                }
+                return;
+            }
+            synchronized (source) {
+                if (!source.catchUpAgain) {
+                    source.catchingUp = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    private void index(Source source, InvertedIndex index, long id, String[] fields) {
+        if (!index.put(id, fields)) {
+            source.dropped.incrementAndGet();
+            scheduleRebuild(source);
+        } else if (index.tombstones() > capacity / 4) {
+            scheduleRebuild(source);
+        }
+    }
+
+    private void scheduleRebuild(Source source) {
+        synchronized (source) {
+            if (source.rebuilding || source.rebuildQueued) {
+                return;
+            }
+            source.rebuildQueued = true;
+        }
+        rebuilder.execute(() -> rebuild(source));
+    }
+
+    private void rebuild(Source source) {
+        synchronized (source) {
+            source.rebuildQueued = false;
+            source.rebuilding = true;
+        }
+        long started = System.nanoTime();
+        InvertedIndex index = new InvertedIndex(capacity);
+        long lastId;
+        try {
+            lastId = load(source, newestStartId(source), batch -> {
+                for (Document document : batch) {
+                    index(source, index, document.id, document.fields);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Rebuilding the {} search index failed", source.type, e);
+            // The old index stays in service, so it still needs the writes made meanwhile
+            synchronized (source) {
+                source.rebuilding = false;
+                replayPending(source);
+            }
+            return;
+        }
+        synchronized (source) {
+            source.index = index;
+            source.indexedThroughId = lastId;
+            source.rebuilding = false;
+            replayPending(source);
+        }
+        log.info("Search index for {} rebuilt: {} documents, {} terms in {} ms", source.type, index.size(),
+                index.terms(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Caller holds the source's monitor
+    private void replayPending(Source source) {
+        for (DataChangedEvent event : source.pending) {
+            apply(source, event);
+        }
+        source.pending.clear();
+    }
+
+    // Leaves a quarter of the capacity free for rows written after the rebuild
+    private long newestStartId(Source source) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + source.table + " ORDER BY id DESC LIMIT 1 OFFSET ?",
+                Long.class, capacity - capacity / 4);
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+
+    // Keyset batches keep memory flat on both MySQL and H2; returns the highest id read
+    private long load(Source source, long afterId, Consumer<List<Document>> consumer) {
+        long last = afterId;
+        List<Document> batch;
+        do {
+            batch = jdbcTemplate.query("SELECT " + source.columns + " FROM " + source.table
+                    + " WHERE id > ? ORDER BY id LIMIT " + LOAD_BATCH,
+                    (rs, rowNum) -> new Document(rs.getLong(1), fields(source, rs)), last);
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+                last = batch.get(batch.size() - 1).id;
+            }
+        } while (batch.size() == LOAD_BATCH);
+        return last;
+    }
+
+    // Same fields, in the same order, as fields(entity) below
+    private static String[] fields(Source source, ResultSet rs) throws SQLException {
+        switch (source.kind) {
+            case ORDER:
+                return new String[] { rs.getString(2), rs.getString(3), rs.getString(4) };
+            case CUSTOMER:
+                return new String[] { rs.getString(2), rs.getString(3), rs.getString(4), digits(rs.getString(4)) };
+            default:
+                return new String[] { rs.getString(2), rs.getString(3) };
+        }
+    }
+
+    private static String[] fields(Object entity) {
+        if (entity instanceof Order) {
+            Order order = (Order) entity;
+            return new String[] { order.getOrderId(), order.getCustomer(), order.getLocation() };
+        }
+        if (entity instanceof Customer) {
+            Customer customer = (Customer) entity;
+            // Phone numbers are also searchable without their separators
+            return new String[] { customer.getName(), customer.getEmail(), customer.getPhone(),
+                    digits(customer.getPhone()) };
+        }
+        Product product = (Product) entity;
+        return new String[] { product.getName(), product.getCategory() };
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isDigit(value.charAt(i))) {
+                digits.append(value.charAt(i));
+            }
+        }
+        return digits.toString();
+    }
+
+    private List<SearchHit> hydrate(List<Ranked> ranked) {
+        Map<DataChangedEvent.Kind, List<Long>> idsByKind = new EnumMap<>(DataChangedEvent.Kind.class);
+        for (Ranked r : ranked) {
+            idsByKind.computeIfAbsent(r.source.kind, k -> new ArrayList<>()).add(r.hit.id);
+        }
+        Map<Long, Order> orders = new HashMap<>();
+        Map<Long, Customer> customers = new HashMap<>();
+        Map<Long, Product> products = new HashMap<>();
+        idsByKind.forEach((kind, ids) -> {
+            switch (kind) {
+                case ORDER:
+                    orderRepository.findAllById(ids).forEach(o -> orders.put(o.getId(), o));
+                    break;
+                case CUSTOMER:
+                    customerRepository.findAllById(ids).forEach(c -> customers.put(c.getId(), c));
+                    break;
+                default:
+                    productRepository.findAllById(ids).forEach(p -> products.put(p.getId(), p));
+            }
+        });
+        List<SearchHit> result = new ArrayList<>(ranked.size());
+        // Rows deleted since they were indexed simply drop out
+        for (Ranked r : ranked) {
+            long id = r.hit.id;
+            switch (r.source.kind) {
+                case ORDER:
+                    Order o = orders.get(id);
+                    if (o != null) {
+                        result.add(new SearchHit("order", id, o.getOrderId(),
+                                o.getCustomer() + " · " + o.getLocation() + " · " + o.getAmount(), r.hit.score));
+                    }
+                    break;
+                case CUSTOMER:
+                    Customer c = customers.get(id);
+                    if (c != null) {
+                        result.add(new SearchHit("customer", id, c.getName(), c.getEmail(), r.hit.score));
+                    }
+                    break;
+                default:
+                    Product p = products.get(id);
+                    if (p != null) {
+                        result.add(new SearchHit("product", id, p.getName(),
+                                p.getCategory() + " · " + p.getPrice(), r.hit.score));
+                    }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.ecommerce.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: one record per {@link #next()} call, with quoted fields
+ * that may contain commas, doubled quotes and line breaks. Only the current record is held, and
+ * it is bounded: a field or record past its limit (typically an unterminated quote swallowing the
+ * rest of the input) is dropped with a {@link RecordTooLongException} and reading resumes on the
+ * next line.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private final int maxRecordLength;
+    private final StringBuilder field = new StringBuilder();
+    private int pushback = -2;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this(reader, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public CsvReader(Reader reader, int maxFieldLength, int maxRecordLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Returns the next record, or null at end of input. Blank lines are skipped.
+     *
+     * @throws RecordTooLongException if a field or the record runs past its limit; the rest of
+     *         the line it reached is skipped, so the following call starts on the next line
+     */
+    public List<String> next() throws IOException {
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean any = false;
+        long recordLength = 0;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!any) {
+                    return null;
+                }
+                record.add(field.toString());
+                return record;
+            }
+            if (!any) {
+                recordLine = line;
+                any = true;
+            }
+            if (++recordLength > maxRecordLength) {
+                throw tooLong(c, "Record starting on line " + recordLine + " is longer than "
+                        + maxRecordLength + " characters");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        append('"', c);
+                    } else {
+                        quoted = false;
+                        unread(nextChar);
+                    }
+                } else {
+                    append((char) c, c);
+                    if (c == '\n') {
+                        line++;
+                    }
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        unread(nextChar);
+                    }
+                }
+                line++;
+                if (record.isEmpty() && field.length() == 0) {
+                    any = false;
+                    recordLength = 0;
+                    continue;
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                append((char) c, c);
+            }
+        }
+    }
+
+    /** 1-based line on which the record last returned (or rejected) by {@link #next()} started. */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private void append(char value, int consumed) throws IOException {
+        if (field.length() == maxFieldLength) {
+            throw tooLong(consumed, "Field on line " + line + " is longer than " + maxFieldLength + " characters");
+        }
+        field.append(value);
+    }
+
+    // Drops the partial record and skips to the next line break, which is where reading resumes
+    private RecordTooLongException tooLong(int consumed, String message) throws IOException {
+        field.setLength(0);
+        int c = consumed;
+        while (c != -1 && c != '\n' && c != '\r') {
+            c = read();
+        }
+        if (c == '\r') {
+            int nextChar = read();
+            if (nextChar != '\n') {
+                unread(nextChar);
+            }
+        }
+        if (c != -1) {
+            line++;
+        }
+        return new RecordTooLongException(recordLine, message + "; skipped to line " + line);
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
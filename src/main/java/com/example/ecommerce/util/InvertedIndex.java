@@ -0,0 +1,338 @@
+package com.example.ecommerce.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from lower-cased word tokens to the documents containing them, with
+ * prefix matching on every query token. Documents are numbered in insertion order and postings are
+ * plain sorted int arrays, so the newest matches can be read first and a query stops as soon as no
+ * remaining document could outrank what it already has. Replacing or removing a document leaves a
+ * tombstone; callers rebuild when {@link #tombstones()} grows, and {@link #put} refuses documents
+ * past the configured capacity so memory stays bounded.
+ */
+public final class InvertedIndex {
+
+    /** A matching entity id and how well it matched: two points per exact token, one per prefix. */
+    public static final class Hit {
+        public final long id;
+        public final int score;
+
+        Hit(long id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final int MAX_TOKEN_LENGTH = 32;
+    // Shorter query tokens only match whole words; expanding "a" would touch most of the dictionary
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_CANDIDATES = 50_000;
+
+    private static final class Postings {
+        int[] docs = new int[2];
+        int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+
+    private final int capacity;
+    private final long denseIdLimit;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] entityIds = new long[1024];
+    private int documents;
+    private int tombstones;
+    // entity id -> document number + 1; auto-increment ids stay dense, anything far beyond goes to the map
+    private int[] documentByEntity = new int[1024];
+    private final Map<Long, Integer> documentByLargeEntity = new HashMap<>();
+
+    public InvertedIndex(int capacity) {
+        this.capacity = capacity;
+        this.denseIdLimit = Math.min(Integer.MAX_VALUE - 8, 4L * capacity + 1024);
+    }
+
+    /** Indexes (or re-indexes) an entity. Returns false when the index is full. */
+    public boolean put(long id, String... fields) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String field : fields) {
+            tokenize(field, tokens);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (documents == capacity) {
+                return false;
+            }
+            int doc = documents++;
+            if (doc == entityIds.length) {
+                entityIds = Arrays.copyOf(entityIds, doc + (doc >> 1));
+            }
+            entityIds[doc] = id;
+            setDocument(id, doc + 1);
+            for (String token : tokens) {
+                terms.computeIfAbsent(token, t -> new Postings()).add(doc);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return getDocument(id) > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokenize(query, tokens);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return searchLocked(tokens, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents - tombstones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return tombstones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Lower-cased runs of letters and digits, each cut to {@value #MAX_TOKEN_LENGTH} characters. */
+    public static void tokenize(String text, Collection<String> into) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                into.add(text.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)).toLowerCase());
+                start = -1;
+            }
+        }
+    }
+
+    private void removeLocked(long id) {
+        int doc = getDocument(id) - 1;
+        if (doc >= 0) {
+            // Postings keep the number; queries skip it until the next rebuild
+            deleted.set(doc);
+            tombstones++;
+            setDocument(id, 0);
+        }
+    }
+
+    private int getDocument(long id) {
+        if (id >= 0 && id < documentByEntity.length) {
+            return documentByEntity[(int) id];
+        }
+        Integer doc = documentByLargeEntity.get(id);
+        return doc != null ? doc : 0;
+    }
+
+    private void setDocument(long id, int docPlusOne) {
+        if (id >= 0 && id < denseIdLimit) {
+            if (id >= documentByEntity.length) {
+                documentByEntity = Arrays.copyOf(documentByEntity,
+                        (int) Math.min(denseIdLimit, Math.max(id + 1, documentByEntity.length * 3L / 2)));
+            }
+            documentByEntity[(int) id] = docPlusOne;
+        } else if (docPlusOne == 0) {
+            documentByLargeEntity.remove(id);
+        } else {
+            documentByLargeEntity.put(id, docPlusOne);
+        }
+    }
+
+    private List<Hit> searchLocked(Set<String> tokens, int limit) {
+        // One group per query token: the exact term plus the terms it is a prefix of
+        List<Postings> exact = new ArrayList<>(tokens.size());
+        List<List<Postings>> groups = new ArrayList<>(tokens.size());
+        List<Long> estimates = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            List<Postings> group = new ArrayList<>();
+            long estimate = 0;
+            if (token.length() < MIN_PREFIX_LENGTH) {
+                Postings postings = terms.get(token);
+                if (postings != null) {
+                    group.add(postings);
+                    estimate = postings.size;
+                }
+            } else {
+                NavigableMap<String, Postings> matches = terms.subMap(token, true, token + Character.MAX_VALUE, false);
+                for (Postings postings : matches.values()) {
+                    group.add(postings);
+                    estimate += postings.size;
+                    if (group.size() == MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                }
+            }
+            if (group.isEmpty()) {
+                return List.of();
+            }
+            // Smallest group first: it drives the scan, the others are only probed
+            int at = 0;
+            while (at < estimates.size() && estimates.get(at) <= estimate) {
+                at++;
+            }
+            estimates.add(at, estimate);
+            groups.add(at, group);
+            exact.add(at, terms.get(token));
+        }
+
+        // Best score still possible: tokens with no exact term can only ever match as prefixes
+        int maxScore = 0;
+        for (Postings postings : exact) {
+            maxScore += postings != null ? 2 : 1;
+        }
+        PriorityQueue<int[]> top = new PriorityQueue<>(limit + 1,
+                (a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[0], b[0]));
+        List<Postings> driver = groups.get(0);
+        int[] cursors = new int[driver.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = driver.get(i).size - 1;
+        }
+        int examined = 0;
+        // Walk the driving group newest document first, merging its postings lists
+        while (examined < MAX_CANDIDATES) {
+            int doc = -1;
+            for (int i = 0; i < cursors.length; i++) {
+                if (cursors[i] >= 0) {
+                    doc = Math.max(doc, driver.get(i).docs[cursors[i]]);
+                }
+            }
+            if (doc < 0) {
+                break;
+            }
+            for (int i = 0; i < cursors.length; i++) {
+                if (cursors[i] >= 0 && driver.get(i).docs[cursors[i]] == doc) {
+                    cursors[i]--;
+                }
+            }
+            if (deleted.get(doc)) {
+                continue;
+            }
+            examined++;
+            int score = score(doc, groups, exact);
+            if (score == 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(new int[] { doc, score });
+            } else if (score > top.peek()[1]) {
+                top.poll();
+                top.add(new int[] { doc, score });
+            }
+            // Everything left is older, so it can only tie a full page of perfect scores and lose
+            if (top.size() == limit && top.peek()[1] == maxScore) {
+                break;
+            }
+        }
+
+        Hit[] hits = new Hit[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int[] entry = top.poll();
+            hits[i] = new Hit(entityIds[entry[0]], entry[1]);
+        }
+        return Arrays.asList(hits);
+    }
+
+    // 0 when some query token does not match the document at all
+    private static int score(int doc, List<List<Postings>> groups, List<Postings> exact) {
+        int score = 0;
+        for (int g = 0; g < groups.size(); g++) {
+            Postings exactPostings = exact.get(g);
+            if (exactPostings != null && exactPostings.contains(doc)) {
+                score += 2;
+                continue;
+            }
+            boolean matched = false;
+            for (Postings postings : groups.get(g)) {
+                if (postings != exactPostings && postings.contains(doc)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return 0;
+            }
+            score++;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.ecommerce.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Converts the display amounts used across the UI (e.g. "₹ 45,23,000", "$ 99.90") to and from
+ * long minor units (hundredths of the currency unit) so totals can be summed exactly in SQL.
+ * Parsing walks the characters directly and formatting fills a char buffer, so neither creates
+ * intermediate Strings, regex matchers or BigDecimals on the hot path.
+ */
+public final class MoneyCodec {
+
+    public static final int SCALE = 2;
+    public static final String DEFAULT_CURRENCY = "INR";
+
+    // Largest value that can take one more decimal digit without overflowing
+    private static final long MAX_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+    // Sign, symbol/code and space, 19 digits, 9 separators, point and 2 decimals fit comfortably
+    private static final int FORMAT_BUFFER = 40;
+    private static final String[] KNOWN_CODES = { "INR", "USD", "EUR", "GBP", "JPY" };
+
+    private MoneyCodec() {
+    }
+
+    /**
+     * Parses a display amount into minor units. Indian ("45,23,000") and Western ("4,523,000.50")
+     * grouping, currency symbols and codes are all accepted; fractions beyond two decimals round
+     * half up. Missing or malformed amounts count as zero, which matches how revenue totals have
+     * always treated them.
+     */
+    public static long parseMinorUnits(CharSequence amount) {
+        return amount == null ? 0 : parseMinorUnits(amount, 0, amount.length());
+    }
+
+    /** Same as {@link #parseMinorUnits(CharSequence)} for the range [start, end) of a larger buffer. */
+    public static long parseMinorUnits(CharSequence amount, int start, int end) {
+        long whole = 0;
+        int fraction = 0;
+        int fractionDigits = 0;
+        boolean seenDigit = false;
+        boolean inFraction = false;
+        boolean roundUp = false;
+        char previous = ' ';
+        for (int i = start; i < end; i++) {
+            char c = amount.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                int digit = c - '0';
+                if (!inFraction) {
+                    if (whole > MAX_BEFORE_DIGIT) {
+                        return 0;
+                    }
+                    whole = whole * 10 + digit;
+                } else if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + digit;
+                    fractionDigits++;
+                } else if (fractionDigits == SCALE) {
+                    // Only the first dropped digit decides HALF_UP
+                    roundUp = digit >= 5;
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !Character.isLetter(previous)) {
+                // A dot straight after letters belongs to the symbol ("Rs. 500"), not the number
+                if (inFraction) {
+                    return 0;
+                }
+                inFraction = true;
+            }
+            // Grouping commas, spaces, symbols and codes are skipped
+            previous = c;
+        }
+        if (!seenDigit) {
+            return 0;
+        }
+        for (int i = Math.min(fractionDigits, SCALE); i < SCALE; i++) {
+            fraction *= 10;
+        }
+        int round = roundUp ? 1 : 0;
+        if (whole > (Long.MAX_VALUE - fraction - round) / 100) {
+            return 0;
+        }
+        return whole * 100 + fraction + round;
+    }
+
+    /** ISO 4217 code for the currency symbol (or code) the amount starts with. */
+    public static String currencyCode(CharSequence amount) {
+        if (amount != null) {
+            int length = amount.length();
+            for (int i = 0; i < length; i++) {
+                char c = amount.charAt(i);
+                switch (c) {
+                    case '₹':
+                        return "INR";
+                    case '$':
+                        return "USD";
+                    case '€':
+                        return "EUR";
+                    case '£':
+                        return "GBP";
+                    case '¥':
+                        return "JPY";
+                    default:
+                        if (Character.isLetter(c) && i + 3 <= length
+                                && Character.isLetter(amount.charAt(i + 1))
+                                && Character.isLetter(amount.charAt(i + 2))) {
+                            return isoCode(amount, i);
+                        }
+                        if (!Character.isWhitespace(c)) {
+                            return DEFAULT_CURRENCY;
+                        }
+                }
+            }
+        }
+        return DEFAULT_CURRENCY;
+    }
+
+    // Known codes come back as constants; anything else is rare enough to allocate for
+    private static String isoCode(CharSequence amount, int at) {
+        for (String known : KNOWN_CODES) {
+            if (Character.toUpperCase(amount.charAt(at)) == known.charAt(0)
+                    && Character.toUpperCase(amount.charAt(at + 1)) == known.charAt(1)
+                    && Character.toUpperCase(amount.charAt(at + 2)) == known.charAt(2)) {
+                return known;
+            }
+        }
+        return amount.subSequence(at, at + 3).toString().toUpperCase();
+    }
+
+    public static BigDecimal toMajorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Formats minor units for display with the currency's symbol, e.g. "₹ 45,23,000.00" or
+     * "$ 4,523,000.00". Rupee amounts use lakh/crore grouping, everything else thousands.
+     */
+    public static String format(long minorUnits, String currency) {
+        char[] buffer = new char[FORMAT_BUFFER];
+        int pos = FORMAT_BUFFER;
+        boolean negative = minorUnits < 0;
+        // Work on the halves separately so Long.MIN_VALUE never needs negating
+        long whole = Math.abs(minorUnits / 100);
+        int fraction = (int) Math.abs(minorUnits % 100);
+
+        buffer[--pos] = (char) ('0' + fraction % 10);
+        buffer[--pos] = (char) ('0' + fraction / 10);
+        buffer[--pos] = '.';
+
+        boolean indian = currency == null || DEFAULT_CURRENCY.equals(currency);
+        int digits = 0;
+        do {
+            // Indian grouping: first group of three, then groups of two
+            if (digits == 3 || (digits > 3 && (indian ? (digits - 3) % 2 == 0 : digits % 3 == 0))) {
+                buffer[--pos] = ',';
+            }
+            buffer[--pos] = (char) ('0' + whole % 10);
+            whole /= 10;
+            digits++;
+        } while (whole > 0);
+
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        buffer[--pos] = ' ';
+        String symbol = symbol(currency);
+        for (int i = symbol.length() - 1; i >= 0; i--) {
+            buffer[--pos] = symbol.charAt(i);
+        }
+        return new String(buffer, pos, FORMAT_BUFFER - pos);
+    }
+
+    private static String symbol(String currency) {
+        if (currency == null) {
+            return "₹";
+        }
+        switch (currency) {
+            case "INR":
+                return "₹";
+            case "USD":
+                return "$";
+            case "EUR":
+                return "€";
+            case "GBP":
+                return "£";
+            case "JPY":
+                return "¥";
+            default:
+                return currency;
+        }
+    }
+}
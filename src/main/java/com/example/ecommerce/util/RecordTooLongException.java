@@ -0,0 +1,22 @@
+package com.example.ecommerce.util;
+
+import java.io.IOException;
+
+/**
+ * An input record over the reader's length limit. The reader has already skipped to the start of
+ * the next line, so the caller can reject the record and keep reading.
+ */
+public class RecordTooLongException extends IOException {
+
+    private final long line;
+
+    public RecordTooLongException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+
+    /** 1-based line the oversized record started on. */
+    public long getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,60 @@
+-- Schema as it stood when migrations were introduced: schema.sql plus the customer table and the
+-- top_cities.percentage and customer_orders.date columns Hibernate's ddl-auto=update used to add.
+-- Existing databases are baselined at this version, so nothing added since belongs here.
+
+CREATE TABLE user_info (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    roles VARCHAR(255)
+);
+
+CREATE TABLE product (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    category VARCHAR(255),
+    price VARCHAR(50),
+    stock INT,
+    status VARCHAR(50)
+);
+
+CREATE TABLE customer (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    location VARCHAR(255),
+    status VARCHAR(255),
+    orders INT
+);
+
+CREATE TABLE customer_orders (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id VARCHAR(50),
+    customer VARCHAR(255),
+    location VARCHAR(255),
+    amount VARCHAR(50),
+    status VARCHAR(50),
+    date VARCHAR(255)
+);
+
+-- Summary cards and top cities as originally seeded; no longer read by the services
+CREATE TABLE dashboard_stats (
+    id INT PRIMARY KEY,
+    revenue VARCHAR(50),
+    revenue_trend VARCHAR(20),
+    orders VARCHAR(50),
+    orders_trend VARCHAR(20),
+    customers VARCHAR(50),
+    customers_trend VARCHAR(20),
+    growth VARCHAR(50),
+    growth_trend VARCHAR(20)
+);
+
+CREATE TABLE top_cities (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    city VARCHAR(100),
+    sales INT,
+    percentage VARCHAR(255)
+);
@@ -0,0 +1,13 @@
+-- Numeric shadows of the free-form amount, price and date strings. Rows that predate them are
+-- filled in by NumericColumnBackfillService in batches after startup, so the ALTERs stay metadata-only.
+ALTER TABLE customer_orders ADD COLUMN (
+    amount_minor BIGINT,
+    currency CHAR(3),
+    order_date DATE
+);
+CREATE INDEX idx_customer_orders_order_date ON customer_orders (order_date);
+
+ALTER TABLE product ADD COLUMN (
+    price_minor BIGINT,
+    currency CHAR(3)
+);
@@ -0,0 +1,13 @@
+-- Running order totals (maintained on every order write, rebuilt from customer_orders when missing)
+CREATE TABLE order_aggregates (
+    id INT PRIMARY KEY,
+    order_count BIGINT NOT NULL,
+    revenue_minor BIGINT NOT NULL
+);
+
+-- Per-day order rollups behind the analytics charts (rebuilt from customer_orders when empty)
+CREATE TABLE order_daily_rollups (
+    bucket_date DATE PRIMARY KEY,
+    order_count BIGINT NOT NULL,
+    revenue_minor BIGINT NOT NULL
+);
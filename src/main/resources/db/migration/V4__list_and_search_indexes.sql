@@ -0,0 +1,8 @@
+-- Top-cities grouping, order list filters and the product/customer catalog prefix searches
+CREATE INDEX idx_customer_orders_location ON customer_orders (location);
+CREATE INDEX idx_customer_orders_status ON customer_orders (status);
+CREATE INDEX idx_customer_orders_customer ON customer_orders (customer);
+CREATE INDEX idx_product_name ON product (name);
+CREATE INDEX idx_product_category ON product (category);
+CREATE INDEX idx_customer_name ON customer (name);
+CREATE INDEX idx_customer_email ON customer (email);
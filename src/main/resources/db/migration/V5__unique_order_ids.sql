@@ -0,0 +1,7 @@
+-- Display ids used to come from millis % 10000 and could repeat. Every repeat after the first row
+-- gets its row id appended so the unique index can be built; the first keeps its original value.
+UPDATE customer_orders SET order_id = CONCAT(order_id, '-', id)
+WHERE order_id IS NOT NULL
+  AND id NOT IN (SELECT first_row.id FROM (SELECT MIN(id) AS id FROM customer_orders GROUP BY order_id) first_row);
+
+CREATE UNIQUE INDEX uk_customer_orders_order_id ON customer_orders (order_id);
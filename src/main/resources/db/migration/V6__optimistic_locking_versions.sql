@@ -0,0 +1,4 @@
+-- @Version counters for optimistic locking; existing rows start at 0
+ALTER TABLE product ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customer ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customer_orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Orders reference the customer placing them. Existing orders start unlinked; the counts and
+-- lifetime values are recounted from the linked orders by CustomerOrderStatsService on startup.
+ALTER TABLE customer_orders ADD COLUMN customer_id BIGINT;
+CREATE INDEX idx_customer_orders_customer_id ON customer_orders (customer_id, id);
+ALTER TABLE customer_orders
+    ADD CONSTRAINT fk_customer_orders_customer FOREIGN KEY (customer_id) REFERENCES customer (id) ON DELETE SET NULL;
+
+ALTER TABLE customer ADD COLUMN lifetime_value_minor BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Each day's rollup is spread over several stripe rows that writers pick at random, so concurrent
+-- orders for the same day do not all queue on one row lock. Existing rows become stripe 0.
+ALTER TABLE order_daily_rollups ADD COLUMN stripe SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE order_daily_rollups DROP PRIMARY KEY;
+ALTER TABLE order_daily_rollups ADD PRIMARY KEY (bucket_date, stripe);
@@ -0,0 +1,5 @@
+-- Orders written before V7 carry only the customer's name. Link each to the oldest customer with
+-- that name, the row reports used to look up by name; orders with no such customer stay unlinked.
+UPDATE customer_orders
+SET customer_id = (SELECT MIN(c.id) FROM customer c WHERE c.name = customer_orders.customer)
+WHERE customer_id IS NULL;
@@ -0,0 +1,132 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the Flyway schema on an embedded H2; the second-level cache regions are built by a config
+// class outside this slice, so the cache is switched off here
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.show-sql=false" })
+class OrderRepositoryImplTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void insertOrders() {
+        // Inserted in this order, so ids ascend O1..O7; O2-O4 share a date, as do O1 and O7
+        orderRepository.saveAllAndFlush(List.of(
+                new Order("O1", "Asha Rao", "Pune", "₹ 100", "Pending", "2024-01-01"),
+                new Order("O2", "Ravi Iyer", "Delhi", "₹ 200", "Shipped", "2024-01-02"),
+                new Order("O3", "Asha_Rao", "Pune", "₹ 300", "Pending", "2024-01-02"),
+                new Order("O4", "Meera Das", "Pune", "₹ 400", "Shipped", "2024-01-02"),
+                new Order("O5", "Ravi Iyer", "Delhi", "₹ 500", "Pending", "2024-01-03"),
+                new Order("O6", "Asha Rao", "Pune", "₹ 600", "Pending", null),
+                new Order("O7", "Meera Das", "Delhi", "₹ 700", "Pending", "2024-01-01")));
+    }
+
+    @Test
+    void pagesByIdInBothDirections() {
+        for (int size = 1; size <= 8; size++) {
+            assertThat(walk(new OrderFilter(), false, true, size)).as("size %d", size)
+                    .containsExactly("O1", "O2", "O3", "O4", "O5", "O6", "O7");
+            assertThat(walk(new OrderFilter(), false, false, size)).as("size %d", size)
+                    .containsExactly("O7", "O6", "O5", "O4", "O3", "O2", "O1");
+        }
+    }
+
+    @Test
+    void breaksDateTiesByIdWithoutSkippingOrRepeatingRowsAcrossPages() {
+        // Every page size splits the 2024-01-02 group at a different point; undated O6 always comes last
+        for (int size = 1; size <= 8; size++) {
+            assertThat(walk(new OrderFilter(), true, true, size)).as("size %d", size)
+                    .containsExactly("O1", "O7", "O2", "O3", "O4", "O5", "O6");
+            assertThat(walk(new OrderFilter(), true, false, size)).as("size %d", size)
+                    .containsExactly("O5", "O4", "O3", "O2", "O7", "O1", "O6");
+        }
+    }
+
+    @Test
+    void pagesThroughUndatedOrdersByIdAfterTheDatedOnes() {
+        orderRepository.saveAllAndFlush(List.of(
+                new Order("O8", "Ravi Iyer", "Delhi", "₹ 800", "Pending", "not a date"),
+                new Order("O9", "Asha Rao", "Pune", "₹ 900", "Pending", "2023-12-31")));
+
+        for (int size = 1; size <= 10; size++) {
+            assertThat(walk(new OrderFilter(), true, true, size)).as("size %d", size)
+                    .containsExactly("O9", "O1", "O7", "O2", "O3", "O4", "O5", "O6", "O8");
+            assertThat(walk(new OrderFilter(), true, false, size)).as("size %d", size)
+                    .containsExactly("O5", "O4", "O3", "O2", "O7", "O1", "O9", "O8", "O6");
+        }
+    }
+
+    @Test
+    void startsAfterACursorInsideATieGroup() {
+        Order o3 = orderRepository.findAll().stream().filter(o -> "O3".equals(o.getOrderId())).findFirst().get();
+
+        assertThat(orderIds(orderRepository.findPage(new OrderFilter(), true, true, o3.getOrderDate(), o3.getId(), 10)))
+                .containsExactly("O4", "O5", "O6");
+        assertThat(orderIds(orderRepository.findPage(new OrderFilter(), true, false, o3.getOrderDate(), o3.getId(), 10)))
+                .containsExactly("O2", "O7", "O1", "O6");
+    }
+
+    @Test
+    void appliesFiltersOnEveryPage() {
+        OrderFilter pending = new OrderFilter();
+        pending.setStatus("Pending");
+        pending.setLocation("Pune");
+        assertThat(walk(pending, true, false, 1)).containsExactly("O3", "O1", "O6");
+        assertThat(walk(pending, false, true, 1)).containsExactly("O1", "O3", "O6");
+
+        OrderFilter range = new OrderFilter();
+        range.setFrom(LocalDate.of(2024, 1, 2));
+        range.setTo(LocalDate.of(2024, 1, 2));
+        // A date range leaves out undated orders
+        assertThat(walk(range, true, false, 2)).containsExactly("O4", "O3", "O2");
+    }
+
+    @Test
+    void matchesCustomerPrefixesLiterally() {
+        OrderFilter filter = new OrderFilter();
+        filter.setCustomer("Asha_");
+        assertThat(walk(filter, false, true, 10)).containsExactly("O3");
+
+        filter.setCustomer("Asha");
+        assertThat(walk(filter, false, true, 10)).containsExactly("O1", "O3", "O6");
+    }
+
+    // Follows the cursor of each page's last row until a short page, as the list endpoint does
+    private List<String> walk(OrderFilter filter, boolean byDate, boolean ascending, int size) {
+        List<String> seen = new ArrayList<>();
+        LocalDate afterDate = null;
+        Long afterId = null;
+        while (true) {
+            List<Order> page = orderRepository.findPage(filter, byDate, ascending, afterDate, afterId, size);
+            seen.addAll(orderIds(page));
+            if (page.size() < size) {
+                return seen;
+            }
+            Order last = page.get(page.size() - 1);
+            afterDate = last.getOrderDate();
+            afterId = last.getId();
+        }
+    }
+
+    private static List<String> orderIds(List<Order> orders) {
+        return orders.stream().map(Order::getOrderId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.entity.CityOrderCount;
+import com.example.ecommerce.entity.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Same embedded setup as OrderRepositoryImplTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.show-sql=false" })
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void insertOrders() {
+        // Pune 4, Delhi 2, Mumbai 2, Agra 1, Chennai 1; the blank and missing locations never rank
+        List<Order> orders = new ArrayList<>();
+        String[] locations = { "Pune", "Mumbai", "Pune", "Delhi", "Chennai", "Pune", "Mumbai", "Agra", "Delhi",
+                "Pune", "", null, "" };
+        for (int i = 0; i < locations.length; i++) {
+            orders.add(new Order("O" + i, "Asha Rao", locations[i], "₹ 100", "Pending", "2024-01-01"));
+        }
+        orderRepository.saveAllAndFlush(orders);
+    }
+
+    @Test
+    void ranksCitiesByOrderCountAndTiesByName() {
+        List<CityOrderCount> top = orderRepository.findTopLocations(PageRequest.of(0, 10));
+
+        assertThat(cities(top)).containsExactly("Pune", "Delhi", "Mumbai", "Agra", "Chennai");
+        assertThat(top.stream().map(CityOrderCount::getOrders).collect(Collectors.toList()))
+                .containsExactly(4L, 2L, 2L, 1L, 1L);
+    }
+
+    @Test
+    void cutsTiesAtTheLimitTheSameWayEveryTime() {
+        assertThat(cities(orderRepository.findTopLocations(PageRequest.of(0, 1)))).containsExactly("Pune");
+        assertThat(cities(orderRepository.findTopLocations(PageRequest.of(0, 2)))).containsExactly("Pune", "Delhi");
+        assertThat(cities(orderRepository.findTopLocations(PageRequest.of(0, 4))))
+                .containsExactly("Pune", "Delhi", "Mumbai", "Agra");
+    }
+
+    private static List<String> cities(List<CityOrderCount> counts) {
+        return counts.stream().map(CityOrderCount::getLocation).collect(Collectors.toList());
+    }
+}
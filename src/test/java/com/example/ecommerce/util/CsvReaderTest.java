@@ -0,0 +1,103 @@
+package com.example.ecommerce.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainRecordsOnCommasAndLineBreaks() throws IOException {
+        assertThat(readAll("orderId,customer,amount\nORD-1,Asha,500\r\nORD-2,Ravi,750"))
+                .containsExactly(
+                        List.of("orderId", "customer", "amount"),
+                        List.of("ORD-1", "Asha", "500"),
+                        List.of("ORD-2", "Ravi", "750"));
+    }
+
+    @Test
+    void keepsCommasAndDoubledQuotesInsideQuotedFields() throws IOException {
+        assertThat(readAll("\"Pune, MH\",\"say \"\"hi\"\"\",\"\"\n"))
+                .containsExactly(List.of("Pune, MH", "say \"hi\"", ""));
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotedFields() throws IOException {
+        assertThat(readAll("id,address\n1,\"12 MG Road\nBengaluru\r\n560001\"\n2,plain\n"))
+                .containsExactly(
+                        List.of("id", "address"),
+                        List.of("1", "12 MG Road\nBengaluru\r\n560001"),
+                        List.of("2", "plain"));
+    }
+
+    @Test
+    void skipsBlankLinesButKeepsEmptyFields() throws IOException {
+        assertThat(readAll("\n\r\na,,c\n\n,\n"))
+                .containsExactly(List.of("a", "", "c"), List.of("", ""));
+    }
+
+    @Test
+    void returnsNullAtEndOfInput() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n"));
+        assertThat(reader.next()).containsExactly("a");
+        assertThat(reader.next()).isNull();
+        assertThat(reader.next()).isNull();
+        assertThat(new CsvReader(new StringReader("")).next()).isNull();
+    }
+
+    @Test
+    void endsAnUnterminatedQuotedFieldAtEndOfInput() throws IOException {
+        assertThat(readAll("a,\"open\nfield")).containsExactly(List.of("a", "open\nfield"));
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuotePastTheRecordLimitAndResumesOnTheNextLine() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\n1,\"open\n2,x\n3,yyyyyyyyyy tail\n4,z\n"), 100, 16);
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThatThrownBy(reader::next).isInstanceOf(RecordTooLongException.class)
+                .hasMessageContaining("line 2").hasMessageContaining("skipped to line 5")
+                .extracting(e -> ((RecordTooLongException) e).getLine()).isEqualTo(2L);
+        assertThat(reader.next()).containsExactly("4", "z");
+        assertThat(reader.getRecordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsAFieldPastTheFieldLimitButKeepsTheFollowingRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("1,abcdef,x\r\n2,abc\n"), 4, 100);
+
+        assertThatThrownBy(reader::next).isInstanceOf(RecordTooLongException.class)
+                .hasMessageContaining("Field on line 1");
+        assertThat(reader.next()).containsExactly("2", "abc");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsTheLineEachRecordStartsOn() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\na\n\"multi\nline\"\nb\n"));
+
+        reader.next();
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        reader.next();
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+        reader.next();
+        assertThat(reader.getRecordLine()).isEqualTo(5);
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
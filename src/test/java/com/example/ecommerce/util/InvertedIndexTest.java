@@ -0,0 +1,148 @@
+package com.example.ecommerce.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void ranksExactTokensAbovePrefixesAndNewerDocumentsFirstOnTies() {
+        InvertedIndex index = new InvertedIndex(100);
+        index.put(1, "Asha Rao", "Pune");
+        index.put(2, "Ashanti Kumar", "Pune");
+        index.put(3, "Ravi Asha", "Delhi");
+
+        List<InvertedIndex.Hit> hits = index.search("asha", 10);
+
+        assertThat(ids(hits)).containsExactly(3L, 1L, 2L);
+        assertThat(hits.stream().map(hit -> hit.score).collect(Collectors.toList())).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void requiresEveryQueryTokenToMatch() {
+        InvertedIndex index = new InvertedIndex(100);
+        index.put(1, "ORD-001", "Asha Rao", "Pune");
+        index.put(2, "ORD-002", "Asha Rao", "Delhi");
+
+        assertThat(ids(index.search("asha pune", 10))).containsExactly(1L);
+        assertThat(ids(index.search("ORD 002", 10))).containsExactly(2L);
+        assertThat(index.search("asha mumbai", 10)).isEmpty();
+    }
+
+    @Test
+    void removedDocumentsStopMatchingAndLeaveATombstone() {
+        InvertedIndex index = new InvertedIndex(100);
+        index.put(1, "Asha Rao");
+        index.put(2, "Asha Iyer");
+
+        index.remove(1);
+
+        assertThat(ids(index.search("asha", 10))).containsExactly(2L);
+        assertThat(index.contains(1)).isFalse();
+        assertThat(index.contains(2)).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.tombstones()).isEqualTo(1);
+    }
+
+    @Test
+    void removingAnUnknownIdChangesNothing() {
+        InvertedIndex index = new InvertedIndex(100);
+        index.put(1, "Asha Rao");
+
+        index.remove(42);
+        index.remove(1);
+        index.remove(1);
+
+        assertThat(index.size()).isZero();
+        assertThat(index.tombstones()).isEqualTo(1);
+    }
+
+    @Test
+    void reindexingReplacesTheOldTokens() {
+        InvertedIndex index = new InvertedIndex(100);
+        index.put(7, "Wireless Mouse", "Electronics");
+
+        index.put(7, "Wireless Keyboard", "Electronics");
+
+        assertThat(index.search("mouse", 10)).isEmpty();
+        assertThat(ids(index.search("keyboard", 10))).containsExactly(7L);
+        // The replaced version only survives as a tombstone, never as a duplicate hit
+        assertThat(ids(index.search("wireless", 10))).containsExactly(7L);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.tombstones()).isEqualTo(1);
+    }
+
+    @Test
+    void reindexedDocumentsRankAsTheNewest() {
+        InvertedIndex index = new InvertedIndex(100);
+        index.put(1, "Asha");
+        index.put(2, "Asha");
+
+        index.put(1, "Asha");
+
+        assertThat(ids(index.search("asha", 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void refusesDocumentsPastCapacityCountingTombstones() {
+        InvertedIndex index = new InvertedIndex(2);
+        assertThat(index.put(1, "one")).isTrue();
+        assertThat(index.put(2, "two")).isTrue();
+        assertThat(index.put(3, "three")).isFalse();
+        assertThat(index.contains(3)).isFalse();
+
+        // Tombstones still hold their slots until the owner rebuilds
+        index.remove(1);
+        assertThat(index.put(3, "three")).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void handlesIdsFarBeyondTheDenseRange() {
+        InvertedIndex index = new InvertedIndex(10);
+        long large = 5_000_000_000L;
+        index.put(large, "Remote Warehouse");
+        index.put(-1, "Legacy Row");
+
+        assertThat(ids(index.search("warehouse", 10))).containsExactly(large);
+        assertThat(index.contains(large)).isTrue();
+
+        index.put(large, "Local Warehouse");
+        index.remove(-1);
+
+        assertThat(ids(index.search("local", 10))).containsExactly(large);
+        assertThat(index.search("remote", 10)).isEmpty();
+        assertThat(index.search("legacy", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void limitsResultsAndIgnoresEmptyQueries() {
+        InvertedIndex index = new InvertedIndex(100);
+        for (long id = 1; id <= 20; id++) {
+            index.put(id, "Pune");
+        }
+
+        assertThat(ids(index.search("pune", 3))).containsExactly(20L, 19L, 18L);
+        assertThat(index.search("  ,. ", 10)).isEmpty();
+        assertThat(index.search("pune", 0)).isEmpty();
+    }
+
+    @Test
+    void tokenizesOnNonWordCharactersAndLowerCases() {
+        List<String> tokens = new ArrayList<>();
+        InvertedIndex.tokenize("Asha.Rao@Example.com, +91-98765", tokens);
+        InvertedIndex.tokenize(null, tokens);
+
+        assertThat(tokens).containsExactly("asha", "rao", "example", "com", "91", "98765");
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.id).collect(Collectors.toList());
+    }
+}
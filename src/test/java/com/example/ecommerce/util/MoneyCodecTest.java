@@ -0,0 +1,94 @@
+package com.example.ecommerce.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoneyCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, 1, 9, 10, 99, 100, 101, 99_999, 100_000, 9_999_999, 10_000_000, 123_456_789_012L,
+            Long.MAX_VALUE / 100 * 100, Long.MAX_VALUE - 1, Long.MAX_VALUE })
+    void roundTripsThroughEveryCurrencyFormat(long minorUnits) {
+        for (String currency : new String[] { "INR", "USD", "EUR", "GBP", "JPY", "CHF" }) {
+            String formatted = MoneyCodec.format(minorUnits, currency);
+            assertThat(MoneyCodec.parseMinorUnits(formatted)).as(formatted).isEqualTo(minorUnits);
+            assertThat(MoneyCodec.currencyCode(formatted)).as(formatted).isEqualTo(currency);
+        }
+    }
+
+    @Test
+    void groupsRupeesInLakhsAndCroresAndEverythingElseInThousands() {
+        assertThat(MoneyCodec.format(0, "INR")).isEqualTo("₹ 0.00");
+        assertThat(MoneyCodec.format(99_999, "INR")).isEqualTo("₹ 999.99");
+        assertThat(MoneyCodec.format(100_000, "INR")).isEqualTo("₹ 1,000.00");
+        assertThat(MoneyCodec.format(452_300_000, "INR")).isEqualTo("₹ 45,23,000.00");
+        assertThat(MoneyCodec.format(452_300_050, "USD")).isEqualTo("$ 4,523,000.50");
+        assertThat(MoneyCodec.format(Long.MAX_VALUE, "USD")).isEqualTo("$ 92,233,720,368,547,758.07");
+        assertThat(MoneyCodec.format(Long.MAX_VALUE, null)).isEqualTo("₹ 92,23,37,20,36,85,47,758.07");
+    }
+
+    @Test
+    void formatsNegativeAmountsWithoutOverflowingAtLongMinValue() {
+        assertThat(MoneyCodec.format(-1, "INR")).isEqualTo("₹ -0.01");
+        assertThat(MoneyCodec.format(-452_300_050, "USD")).isEqualTo("$ -4,523,000.50");
+        assertThat(MoneyCodec.format(Long.MIN_VALUE, "USD")).isEqualTo("$ -92,233,720,368,547,758.08");
+    }
+
+    @Test
+    void rejectsAmountsPastTheLongRangeAsZero() {
+        assertThat(MoneyCodec.parseMinorUnits("92233720368547758.07")).isEqualTo(Long.MAX_VALUE);
+        assertThat(MoneyCodec.parseMinorUnits("92233720368547758.08")).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("92233720368547758.075")).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("92233720368547758.065")).isEqualTo(Long.MAX_VALUE);
+        assertThat(MoneyCodec.parseMinorUnits("922337203685477580")).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("99999999999999999999999")).isZero();
+    }
+
+    @Test
+    void roundsDroppedDecimalsHalfUp() {
+        assertThat(MoneyCodec.parseMinorUnits("$ 0.004")).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("$ 0.005")).isEqualTo(1);
+        assertThat(MoneyCodec.parseMinorUnits("$ 0.0049999")).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("$ 0.999")).isEqualTo(100);
+        assertThat(MoneyCodec.parseMinorUnits("₹ 1,199.995")).isEqualTo(120_000);
+    }
+
+    @Test
+    void acceptsTheDisplayFormatsTheUiWrites() {
+        assertThat(MoneyCodec.parseMinorUnits("₹ 45,23,000")).isEqualTo(452_300_000);
+        assertThat(MoneyCodec.parseMinorUnits("₹1200")).isEqualTo(120_000);
+        assertThat(MoneyCodec.parseMinorUnits("$ 4,523,000.5")).isEqualTo(452_300_050);
+        assertThat(MoneyCodec.parseMinorUnits("Rs. 500")).isEqualTo(50_000);
+        assertThat(MoneyCodec.parseMinorUnits(".75")).isEqualTo(75);
+        assertThat(MoneyCodec.currencyCode("Rs. 500")).isEqualTo("INR");
+        assertThat(MoneyCodec.currencyCode("usd 12")).isEqualTo("USD");
+        assertThat(MoneyCodec.currencyCode("  € 12")).isEqualTo("EUR");
+        assertThat(MoneyCodec.currencyCode("12")).isEqualTo(MoneyCodec.DEFAULT_CURRENCY);
+    }
+
+    @Test
+    void countsMissingOrMalformedAmountsAsZero() {
+        assertThat(MoneyCodec.parseMinorUnits(null)).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("")).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("₹ ")).isZero();
+        assertThat(MoneyCodec.parseMinorUnits("1.2.3")).isZero();
+        assertThat(MoneyCodec.currencyCode(null)).isEqualTo(MoneyCodec.DEFAULT_CURRENCY);
+    }
+
+    @Test
+    void parsesARangeOfALargerBuffer() {
+        String line = "ORD-7,$ 1,250.40,Paid";
+        assertThat(MoneyCodec.parseMinorUnits(line, 6, 16)).isEqualTo(125_040);
+    }
+
+    @Test
+    void convertsToMajorUnitsExactly() {
+        assertThat(MoneyCodec.toMajorUnits(Long.MAX_VALUE)).isEqualTo(new BigDecimal("92233720368547758.07"));
+        assertThat(MoneyCodec.toMajorUnits(-5)).isEqualTo(new BigDecimal("-0.05"));
+    }
+}
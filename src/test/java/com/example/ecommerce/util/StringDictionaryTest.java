@@ -0,0 +1,57 @@
+package com.example.ecommerce.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringDictionaryTest {
+
+    @Test
+    void assignsDenseCodesInFirstSeenOrder() {
+        StringDictionary dictionary = new StringDictionary();
+
+        assertThat(dictionary.encode("Pending")).isZero();
+        assertThat(dictionary.encode("Shipped")).isEqualTo(1);
+        assertThat(dictionary.encode("Pending")).isZero();
+        assertThat(dictionary.encode("Delivered")).isEqualTo(2);
+        assertThat(dictionary.size()).isEqualTo(3);
+    }
+
+    @Test
+    void decodesEveryCodeBackToItsValue() {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dictionary.encode("city-" + (i % 100));
+        }
+
+        assertThat(dictionary.size()).isEqualTo(100);
+        for (int code = 0; code < dictionary.size(); code++) {
+            assertThat(dictionary.decode(code)).isEqualTo("city-" + code);
+            assertThat(dictionary.encode(dictionary.decode(code))).isEqualTo(code);
+        }
+    }
+
+    @Test
+    void encodesNullLikeAnyOtherValue() {
+        StringDictionary dictionary = new StringDictionary();
+        dictionary.encode("Pune");
+
+        int code = dictionary.encode(null);
+
+        assertThat(code).isEqualTo(1);
+        assertThat(dictionary.encode(null)).isEqualTo(code);
+        assertThat(dictionary.find(null)).isEqualTo(code);
+        assertThat(dictionary.decode(code)).isNull();
+    }
+
+    @Test
+    void findsOnlyValuesAlreadyEncoded() {
+        StringDictionary dictionary = new StringDictionary();
+        dictionary.encode("Pune");
+
+        assertThat(dictionary.find("Pune")).isZero();
+        assertThat(dictionary.find("pune")).isEqualTo(-1);
+        assertThat(dictionary.find(null)).isEqualTo(-1);
+        assertThat(dictionary.size()).isEqualTo(1);
+    }
+}